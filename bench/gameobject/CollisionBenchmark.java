@@ -0,0 +1,124 @@
+package gameobject;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import processing.core.PVector;
+import event.EventChannel;
+import grid.Grid;
+import rect.Rect;
+import texture.TextureManager;
+import config.Config;
+
+/// Collision passes over a grid of asteroids and random enemies scattered
+/// at several densities. Each call updates the cells of every object then
+/// runs the collision phase, so the reported time is the cost of one tick's
+/// collision work. Enemies overlapping asteroids bounce off them on the
+/// first pass of an iteration, so later passes mostly measure finding
+/// contacts; positions are restored before each iteration. Texture sizes
+/// are read from the data directory, so run from the project root.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    /// Size of each cell, matching the game.
+    private static final float CELL_SIZE = 250f;
+
+    /// Number of cells along each side of the grid.
+    private static final int CELLS = 40;
+
+    /// Fraction of objects that are asteroids.
+    private static final float ASTEROID_FRACTION = 0.25f;
+
+    /// Average number of objects in each cell.
+    @Param({"0.5", "2", "8"})
+    public float density;
+
+    /// Whether contacts are found in parallel.
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    /// Grid holding the objects and store holding their state.
+    private Grid mGrid;
+    private EntityStore mEntities;
+
+    /// Collision phase under test.
+    private CollisionPhase mPhase;
+
+    /// Objects in the grid and their starting positions.
+    private GridObject[] mObjects;
+    private float[] mXs;
+    private float[] mYs;
+
+    /// Build the grid and scatter objects across it.
+    @Setup
+    public void setup() throws Exception {
+
+        TextureManager textures = TextureManager.loadGameTextureSizes("data");
+        float size = CELLS * CELL_SIZE;
+        mGrid = new Grid(new Rect(0f, 0f, size, size), CELL_SIZE);
+        mEntities = new EntityStore(mGrid);
+        mPhase = new CollisionPhase(mGrid, mEntities, new EventChannel(1024));
+        mPhase.setParallel(parallel);
+
+        Random random = new Random(42);
+        int count = (int)(CELLS * CELLS * density);
+        mObjects = new GridObject[count];
+        mXs = new float[count];
+        mYs = new float[count];
+        PVector still = new PVector(0f, 0f);
+        for (int i = 0; i < count; ++i) {
+
+            if (random.nextFloat() < ASTEROID_FRACTION) {
+
+                mObjects[i] = new Asteroid(textures.getTexture(Config.ASTEROID_TEXTURE_ID), mGrid, mEntities, still);
+
+            } else {
+
+                mObjects[i] = new RandomEnemy(textures.getTexture(Config.RANDOM_TEXTURE_ID), mGrid, mEntities);
+
+            }
+            mXs[i] = random.nextFloat() * size;
+            mYs[i] = random.nextFloat() * size;
+
+        }
+
+    }
+
+    /// Move every object back to its starting position.
+    @Setup(Level.Iteration)
+    public void scatter() {
+
+        for (int i = 0; i < mObjects.length; ++i) {
+
+            mObjects[i].setTranslation(mXs[i], mYs[i]);
+
+        }
+
+    }
+
+    @Benchmark
+    public int collide() {
+
+        mEntities.updateCells();
+        mPhase.run();
+        return mEntities.size();
+
+    }
+
+}
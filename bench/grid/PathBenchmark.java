@@ -0,0 +1,127 @@
+package grid;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rect.Rect;
+
+/// Shortest path queries on square grids with asteroids blocking a seeded
+/// random fraction of the cells. Each benchmark answers the same batch of
+/// queries between unblocked cells, so the cost per query is the reported
+/// time divided by QUERIES. The search benchmark changes the obstacle epoch
+/// before each query so every query runs A*, while the cached benchmark
+/// repeats queries the path cache already holds.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathBenchmark {
+
+    /// Number of queries answered per benchmark call.
+    private static final int QUERIES = 32;
+
+    /// Size of each cell, matching the game.
+    private static final float CELL_SIZE = 250f;
+
+    /// Number of cells along each side of the grid (the game uses 10 by 9).
+    @Param({"10", "40", "100"})
+    public int cells;
+
+    /// Fraction of cells containing an asteroid.
+    @Param({"0.1", "0.3"})
+    public float density;
+
+    /// Grid to search.
+    private Grid mGrid;
+
+    /// Start and goal cells of each query.
+    private final int[] mStarts = new int[QUERIES];
+    private final int[] mGoals = new int[QUERIES];
+
+    /// Path filled by each query.
+    private final Path mPath = new Path();
+
+    /// Build the grid, block cells and choose queries.
+    @Setup
+    public void setup() {
+
+        mGrid = new Grid(new Rect(0f, 0f, cells * CELL_SIZE, cells * CELL_SIZE), CELL_SIZE);
+        Random random = new Random(42);
+        int cellCount = cells * cells;
+        for (int i = 0; i < cellCount; ++i) {
+
+            if (random.nextFloat() < density) {
+
+                mGrid.addObstacle(i);
+
+            }
+
+        }
+        mGrid.markObstaclesChanged();
+        for (int i = 0; i < QUERIES; ++i) {
+
+            mStarts[i] = randomOpenCell(random, cellCount);
+            mGoals[i] = randomOpenCell(random, cellCount);
+
+        }
+
+        // Fill the path cache for the cached benchmark.
+        cached();
+
+    }
+
+    @Benchmark
+    public int search() {
+
+        int length = 0;
+        for (int i = 0; i < QUERIES; ++i) {
+
+            mGrid.markObstaclesChanged();
+            mGrid.getShortestPath(mStarts[i], mGoals[i], mPath);
+            length += mPath.remaining();
+
+        }
+        return length;
+
+    }
+
+    @Benchmark
+    public int cached() {
+
+        int length = 0;
+        for (int i = 0; i < QUERIES; ++i) {
+
+            mGrid.getShortestPath(mStarts[i], mGoals[i], mPath);
+            length += mPath.remaining();
+
+        }
+        return length;
+
+    }
+
+    /// Pick a random cell without an asteroid.
+    private int randomOpenCell(Random random, int cellCount) {
+
+        int cellId;
+        do {
+
+            cellId = random.nextInt(cellCount);
+
+        } while (mGrid.isBlocked(cellId));
+        return cellId;
+
+    }
+
+}
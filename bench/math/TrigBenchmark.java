@@ -0,0 +1,194 @@
+package math;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/// Compares FastMath against java.lang.Math over the same inputs. Each
+/// benchmark sums results over a batch of inputs so the cost per call is the
+/// reported time divided by BATCH. The maximum error of each approximation
+/// over the inputs is printed at setup so speed and accuracy can be read
+/// side by side.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrigBenchmark {
+
+    /// Number of inputs evaluated per benchmark call.
+    private static final int BATCH = 1024;
+
+    /// Angles in radians within a few turns of zero.
+    private final float[] mAngles = new float[BATCH];
+
+    /// Vector components covering every quadrant.
+    private final float[] mXs = new float[BATCH];
+    private final float[] mYs = new float[BATCH];
+
+    /// Generate inputs and report the accuracy of each approximation.
+    @Setup
+    public void setup() {
+
+        Random random = new Random(42);
+        for (int i = 0; i < BATCH; ++i) {
+
+            mAngles[i] = (random.nextFloat() - 0.5f) * 8f * FastMath.PI;
+            mXs[i] = (random.nextFloat() - 0.5f) * 1000f;
+            mYs[i] = (random.nextFloat() - 0.5f) * 1000f;
+
+        }
+
+        double sinError = 0.0;
+        double cosError = 0.0;
+        double atan2Error = 0.0;
+        double headingError = 0.0;
+        for (int i = 0; i < BATCH; ++i) {
+
+            sinError = Math.max(sinError, Math.abs(FastMath.sin(mAngles[i]) - Math.sin(mAngles[i])));
+            cosError = Math.max(cosError, Math.abs(FastMath.cos(mAngles[i]) - Math.cos(mAngles[i])));
+            atan2Error = Math.max(atan2Error, Math.abs(FastMath.atan2(mYs[i], mXs[i]) - Math.atan2(mYs[i], mXs[i])));
+            float difference = Math.abs(FastMath.heading(mXs[i], mYs[i]) - legacyHeading(mXs[i], mYs[i]));
+            headingError = Math.max(headingError, Math.min(difference, 360f - difference));
+
+        }
+        System.out.println();
+        System.out.println("max sin error (radians):     " + sinError);
+        System.out.println("max cos error (radians):     " + cosError);
+        System.out.println("max atan2 error (radians):   " + atan2Error);
+        System.out.println("max heading error (degrees): " + headingError);
+
+    }
+
+    @Benchmark
+    public float mathSin() {
+
+        float sum = 0f;
+        for (int i = 0; i < BATCH; ++i) {
+
+            sum += (float)Math.sin(mAngles[i]);
+
+        }
+        return sum;
+
+    }
+
+    @Benchmark
+    public float fastSin() {
+
+        float sum = 0f;
+        for (int i = 0; i < BATCH; ++i) {
+
+            sum += FastMath.sin(mAngles[i]);
+
+        }
+        return sum;
+
+    }
+
+    @Benchmark
+    public float mathCos() {
+
+        float sum = 0f;
+        for (int i = 0; i < BATCH; ++i) {
+
+            sum += (float)Math.cos(mAngles[i]);
+
+        }
+        return sum;
+
+    }
+
+    @Benchmark
+    public float fastCos() {
+
+        float sum = 0f;
+        for (int i = 0; i < BATCH; ++i) {
+
+            sum += FastMath.cos(mAngles[i]);
+
+        }
+        return sum;
+
+    }
+
+    @Benchmark
+    public float mathAtan2() {
+
+        float sum = 0f;
+        for (int i = 0; i < BATCH; ++i) {
+
+            sum += (float)Math.atan2(mYs[i], mXs[i]);
+
+        }
+        return sum;
+
+    }
+
+    @Benchmark
+    public float fastAtan2() {
+
+        float sum = 0f;
+        for (int i = 0; i < BATCH; ++i) {
+
+            sum += FastMath.atan2(mYs[i], mXs[i]);
+
+        }
+        return sum;
+
+    }
+
+    @Benchmark
+    public float legacyHeading() {
+
+        float sum = 0f;
+        for (int i = 0; i < BATCH; ++i) {
+
+            sum += legacyHeading(mXs[i], mYs[i]);
+
+        }
+        return sum;
+
+    }
+
+    @Benchmark
+    public float fastHeading() {
+
+        float sum = 0f;
+        for (int i = 0; i < BATCH; ++i) {
+
+            sum += FastMath.heading(mXs[i], mYs[i]);
+
+        }
+        return sum;
+
+    }
+
+    /// Heading calculation previously used by lasers, enemies and the turret.
+    private static float legacyHeading(float x, float y) {
+
+        float rotation = (float)Math.atan(y / x) * (180f / (float)Math.PI);
+        if (x >= 0f) {
+
+            rotation += 90f;
+
+        } else {
+
+            rotation += 270f;
+
+        }
+        return rotation;
+
+    }
+
+}
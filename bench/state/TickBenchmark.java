@@ -0,0 +1,79 @@
+package state;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import random.Randomiser;
+import scene.Simulation;
+import texture.TextureManager;
+
+/// Full play state ticks with a fixed number of enemies split evenly across
+/// the four enemy types. The ship cannot be damaged and the turret keeps
+/// firing, so lasers, collisions and events all take part. Enemies killed
+/// during a tick are replaced at the end of it, so the load stays at the
+/// requested count; the top-up is included in the reported time.
+/// Texture sizes are read from the data directory, so run from the project
+/// root.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+
+    /// Number of ticks run before measuring so spawning settles.
+    private static final int SETTLE_TICKS = 600;
+
+    /// Total number of enemies.
+    @Param({"0", "100", "1000", "4000"})
+    public int enemies;
+
+    /// Objects making up the game.
+    private Context mContext;
+
+    /// Current state of the game.
+    private SceneState mState;
+
+    /// Start a seeded game and let it settle.
+    @Setup
+    public void setup() throws Exception {
+
+        Randomiser.setSeed(42);
+        mContext = new Context(TextureManager.loadGameTextureSizes("data"));
+        mContext.ship.setCheat(true);
+        mContext.turret.setFiring(true);
+        mState = new PlayState(mContext);
+        for (int i = 0; i < SETTLE_TICKS; ++i) {
+
+            tick();
+
+        }
+
+    }
+
+    @Benchmark
+    public int tick() {
+
+        mState = mState.update(Simulation.STEP_SIZE);
+
+        // Replace killed enemies.
+        int each = enemies / 4;
+        mContext.randomManager.fill(each);
+        mContext.chaserManager.fill(each);
+        mContext.flockerManager.fill(each);
+        mContext.ghostManager.fill(enemies - 3 * each);
+        return mContext.entities.size();
+
+    }
+
+}
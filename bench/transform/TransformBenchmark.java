@@ -0,0 +1,174 @@
+package transform;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import processing.core.PVector;
+
+/// Hot paths of Transformable and the vector types used for steering. Each
+/// benchmark works over a batch of objects so the cost per object is the
+/// reported time divided by BATCH. The PVector and Vec2 benchmarks do the
+/// same seek-and-limit steering step, allocating and in place respectively,
+/// so the GC profiler shows the allocation each avoids.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformBenchmark {
+
+    /// Number of objects per benchmark call.
+    private static final int BATCH = 1024;
+
+    /// Time step used to move objects.
+    private static final float DELTA = 1f / 60f;
+
+    /// Fastest speed of steered objects.
+    private static final float MAX_SPEED = 300f;
+
+    /// Objects without a parent.
+    private final Transformable[] mRoots = new Transformable[BATCH];
+
+    /// Objects each attached to the root at the same index.
+    private final Transformable[] mChildren = new Transformable[BATCH];
+
+    /// Targets, positions and velocities for the steering benchmarks.
+    private final PVector[] mTargets = new PVector[BATCH];
+    private final PVector[] mPositions = new PVector[BATCH];
+    private final PVector[] mVelocities = new PVector[BATCH];
+    private final Vec2[] mTargets2 = new Vec2[BATCH];
+    private final Vec2[] mPositions2 = new Vec2[BATCH];
+    private final Vec2[] mVelocities2 = new Vec2[BATCH];
+
+    /// Scratch vector for the in place steering benchmark.
+    private final Vec2 mDesired = new Vec2();
+
+    /// Create objects with seeded random transformations.
+    @Setup
+    public void setup() {
+
+        Random random = new Random(42);
+        for (int i = 0; i < BATCH; ++i) {
+
+            float x = random.nextFloat() * 2000f;
+            float y = random.nextFloat() * 2000f;
+            mRoots[i] = new Transformable();
+            mRoots[i].setTranslation(x, y);
+            mRoots[i].setRotation(random.nextFloat() * 360f);
+            mChildren[i] = new Transformable();
+            mChildren[i].setTranslation(10f, 5f);
+            mChildren[i].setParent(mRoots[i]);
+
+            float targetX = random.nextFloat() * 2000f;
+            float targetY = random.nextFloat() * 2000f;
+            mTargets[i] = new PVector(targetX, targetY);
+            mPositions[i] = new PVector(x, y);
+            mVelocities[i] = new PVector(0f, 0f);
+            mTargets2[i] = new Vec2(targetX, targetY);
+            mPositions2[i] = new Vec2(x, y);
+            mVelocities2[i] = new Vec2(0f, 0f);
+
+        }
+
+    }
+
+    /// Move and turn objects without a parent then read their translation.
+    @Benchmark
+    public float moveRoots() {
+
+        float sum = 0f;
+        for (int i = 0; i < BATCH; ++i) {
+
+            Transformable root = mRoots[i];
+            root.translate(1f, -1f);
+            root.rotate(1f);
+            sum += root.getXTranslation() + root.getRotationSin();
+
+        }
+        return sum;
+
+    }
+
+    /// Move parents then read the world transformation of their children,
+    /// recomputing each cached child transformation.
+    @Benchmark
+    public float moveParents() {
+
+        float sum = 0f;
+        for (int i = 0; i < BATCH; ++i) {
+
+            mRoots[i].rotate(1f);
+            Transformable child = mChildren[i];
+            sum += child.getXTranslation() + child.getYTranslation() + child.getRotation();
+
+        }
+        return sum;
+
+    }
+
+    /// Read the world transformation of children whose parents have not
+    /// moved, which should only check the cache.
+    @Benchmark
+    public float readChildren() {
+
+        float sum = 0f;
+        for (int i = 0; i < BATCH; ++i) {
+
+            Transformable child = mChildren[i];
+            sum += child.getXTranslation() + child.getYTranslation() + child.getRotationCos();
+
+        }
+        return sum;
+
+    }
+
+    /// Steer towards targets allocating new vectors for intermediate results.
+    @Benchmark
+    public float steerPVector() {
+
+        float sum = 0f;
+        for (int i = 0; i < BATCH; ++i) {
+
+            PVector desired = PVector.sub(mTargets[i], mPositions[i]);
+            desired.setMag(MAX_SPEED);
+            PVector steer = PVector.sub(desired, mVelocities[i]);
+            mVelocities[i].add(steer.mult(DELTA)).limit(MAX_SPEED);
+            mPositions[i].add(PVector.mult(mVelocities[i], DELTA));
+            sum += mPositions[i].x;
+
+        }
+        return sum;
+
+    }
+
+    /// Steer towards targets updating vectors in place.
+    @Benchmark
+    public float steerVec2() {
+
+        float sum = 0f;
+        for (int i = 0; i < BATCH; ++i) {
+
+            Vec2 position = mPositions2[i];
+            Vec2 velocity = mVelocities2[i];
+            mDesired.set(mTargets2[i]).add(-position.x, -position.y).normalize().mult(MAX_SPEED);
+            mDesired.add(-velocity.x, -velocity.y);
+            velocity.addScaled(mDesired, DELTA).limit(MAX_SPEED);
+            position.addScaled(velocity, DELTA);
+            sum += position.x;
+
+        }
+        return sum;
+
+    }
+
+}
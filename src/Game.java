@@ -4,6 +4,9 @@ import java.lang.Exception;
 import java.util.ArrayList;
 import java.util.List;
 import scene.Scene;
+import scene.Simulation;
+import scene.InputEvent;
+import render.RenderSnapshot;
 import texture.TextureManager;
 import texture.Texture;
 import rect.Rect;
@@ -14,17 +17,13 @@ public class Game extends PApplet {
 
     // Constants.
     private static final int FPS = 60;
-    private static final int UPDATE_RATE = 120;
-    private static final float STEP_SIZE = 1f / UPDATE_RATE;
 
-    /// Accumulated time since last frame.
-    private float mAccumulator;
+    /// Runs the game scene on its own thread.
+    private Simulation mSimulation;
 
-    /// The time at the start of the frame.
-    private float mStartTime;
-
-    /// The game scene to update and draw.
-    private Scene mScene;
+    /// Mouse position last passed to the simulation.
+    private int mMouseX;
+    private int mMouseY;
 
     /// Use this class for processing main loop.
     public static void main(String[] args) {
@@ -43,48 +42,17 @@ public class Game extends PApplet {
     /// Setup the game by loading images and initialising the scene.
     public void setup() {
 
-        // Set frame rate and start time.
+        // Set frame rate.
         frameRate(FPS);
-        mStartTime = millis() / 1000f;
-
-        TextureManager tManager = new TextureManager();
+        mMouseX = -1;
+        mMouseY = -1;
 
         // Attempt to load and initialise textures, exit on failure.
         try {
 
-            // Load ship texture.
-            Texture ship = new Texture(this, "ship.png");
-            tManager.addTexture(Config.SHIP_TEXTURE_ID, ship);
-
-            // Load turret texture.
-            Texture turret = new Texture(this, "turret.png");
-            tManager.addTexture(Config.TURRET_TEXTURE_ID, turret);
-
-            // Load laser texture.
-            Texture laser = new Texture(this, "laser.png");
-            addClips(laser, 0, 3, 12, 50);
-            tManager.addTexture(Config.LASER_TEXTURE_ID, laser);
-
-            // Load power up texture.
-            Texture powerup = new Texture(this, "powerup.png");
-            addClips(powerup, 0, 4, 45, 45);
-            tManager.addTexture(Config.POWERUP_TEXTURE_ID, powerup);
-
-            // Load asteroid texture.
-            Texture asteroid = new Texture(this, "asteroid.png");
-            tManager.addTexture(Config.ASTEROID_TEXTURE_ID, asteroid);
-
-            // Load enemy textures.
-            Texture random = new Texture(this, "random.png");
-            tManager.addTexture(Config.RANDOM_TEXTURE_ID, random);
-            Texture chaser = new Texture(this, "chaser.png");
-            tManager.addTexture(Config.CHASER_TEXTURE_ID, chaser);
-            Texture flocker = new Texture(this, "flocker.png");
-            tManager.addTexture(Config.FLOCKER_TEXTURE_ID, flocker);
-            Texture ghost = new Texture(this, "ghost.png");
-            tManager.addTexture(Config.GHOST_TEXTURE_ID, ghost);
-
-            mScene = new Scene(tManager);
+            TextureManager tManager = TextureManager.loadGameTextures(this);
+            mSimulation = new Simulation(new Scene(tManager));
+            mSimulation.start();
 
         } catch (Exception e) {
 
@@ -95,30 +63,23 @@ public class Game extends PApplet {
 
     }
 
-    /// Draw the game.
+    /// Draw the latest snapshot of the game.
     public void draw() {
 
-        // Calculate time since last frame.
-        float currentTime = millis()/1000f;
-        float frameTime = currentTime - mStartTime;
-
-        mStartTime = currentTime;
-        mAccumulator += frameTime;
-
-        mScene.updateMousePos(new PVector(mouseX, mouseY)); 
-
-        // While there is still enough time left in accumulator update the
-        // game with the fixed timestep.
-        while (mAccumulator > STEP_SIZE) {
+        // Pass the mouse position on when it moves.
+        if (mouseX != mMouseX || mouseY != mMouseY) {
 
-            mScene.update(STEP_SIZE); 
-            mAccumulator -= STEP_SIZE;
+            mMouseX = mouseX;
+            mMouseY = mouseY;
+            post(InputEvent.MOUSE_MOVE, 0, (char)0);
 
         }
 
-        // Clear screen then render current game state.
+        // Clear screen then render the game as of the last tick, interpolated
+        // by the time since the tick.
         background(0);
-        mScene.render(this);
+        RenderSnapshot snapshot = mSimulation.getSnapshot();
+        snapshot.render(this, mSimulation.getAlpha(snapshot));
 
     }
 
@@ -126,7 +87,7 @@ public class Game extends PApplet {
     public void mousePressed() {
 
         // Delegate handling to scene.
-        mScene.handleMousePress(mouseButton, new PVector(mouseX, mouseY));
+        post(InputEvent.MOUSE_PRESS, mouseButton, (char)0);
 
     }
 
@@ -134,7 +95,7 @@ public class Game extends PApplet {
     public void mouseReleased() {
 
         // Delegate handling to scene.
-        mScene.handleMouseRelease(mouseButton, new PVector(mouseX, mouseY));
+        post(InputEvent.MOUSE_RELEASE, mouseButton, (char)0);
 
     }
 
@@ -142,7 +103,7 @@ public class Game extends PApplet {
     public void keyPressed() {
 
         // Delegate handling to scene.
-        mScene.handleKeyPress(key);
+        post(InputEvent.KEY_PRESS, 0, key);
 
     }
 
@@ -150,23 +111,17 @@ public class Game extends PApplet {
     public void keyReleased() {
 
         // Delegate handling to scene.
-        mScene.handleKeyRelease(key);
+        post(InputEvent.KEY_RELEASE, 0, key);
 
     }
 
-    /// Add contiguous clips of a set size to a texture starting at specified index.
-    /// \param texture the texture to add clips to.
-    /// \param startIndex the index to start adding clips at.
-    /// \param clips the number of clips to add.
-    /// \param width the width of each clip to add.
-    /// \param height the height of each clip to add.
-    private void addClips(Texture texture, int startIndex, int clips, int width, int height) {
+    /// Queue input for the simulation thread with the current mouse position.
+    /// \param type the type of input.
+    /// \param button the mouse button pressed or released.
+    /// \param key the key pressed or released.
+    private void post(int type, int button, char key) {
 
-        for (int i = startIndex; i < clips; ++i) {
-
-            texture.addClip(new Rect(i * width, 0, width, height));
-
-        }
+        mSimulation.post(new InputEvent(type, button, key, mouseX, mouseY));
 
     }
 
@@ -0,0 +1,197 @@
+import scene.Pool;
+import scene.SpawnManager;
+import scene.Simulation;
+import gameobject.GridObject;
+import gameobject.NormalLaser;
+import gameobject.PenetrateLaser;
+import gameobject.ReflectLaser;
+import state.Context;
+import state.PlayState;
+import state.SceneState;
+import texture.TextureManager;
+import random.Randomiser;
+
+/// Runs the game without a display for load testing. Textures are loaded as
+/// clip sizes only, so neither Processing's renderer nor java.awt is needed.
+/// The play state is updated with the fixed timestep as fast as possible,
+/// with the turret firing and the ship in cheat mode so enemies keep
+/// spawning, and the number of ticks run per second is reported each second
+/// with the number of each type of enemy. Combine with horde mode (see
+/// config.Horde) to find where the game stops keeping up as enemies grow.
+/// At the end the use of each object pool in the last game is printed so
+/// pool capacities can be tuned, along with the number of events that
+/// subscriptions fell too far behind to read.
+///
+/// Runs can be made repeatable with -Dheadless.seed=... to seed the random
+/// numbers and -Dheadless.ticks=... to run a fixed number of ticks instead
+/// of a fixed time. The state of the game is printed at the end as a digest
+/// of the score and every object's position, so repeated runs with different
+/// settings can be checked to give the same game (see the parallel-check
+/// target in build.xml).
+///
+/// Usage: Headless [seconds] [data directory]
+public class Headless {
+
+    /// Default number of seconds to run for.
+    private static final int DEFAULT_SECONDS = 10;
+
+    /// Default directory containing the texture images.
+    private static final String DEFAULT_DATA = "data";
+
+    /// Nanoseconds between reports.
+    private static final long REPORT_INTERVAL = 1000000000L;
+
+    /// Run the headless simulation.
+    public static void main(String[] args) throws Exception {
+
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SECONDS;
+        String data = args.length > 1 ? args[1] : DEFAULT_DATA;
+        long tickLimit = Long.getLong("headless.ticks", 0);
+        Long seed = Long.getLong("headless.seed");
+        if (seed != null) {
+
+            Randomiser.setSeed(seed);
+
+        }
+
+        Context context = new Context(TextureManager.loadGameTextureSizes(data));
+        SceneState state = startGame(context);
+
+        long start = System.nanoTime();
+        long end = start + seconds * 1000000000L;
+        long reportStart = start;
+        long reportTicks = 0;
+        long totalTicks = 0;
+        int games = 1;
+        long now = start;
+        long ticks = 0;
+        while (tickLimit > 0 ? ticks < tickLimit : now < end) {
+
+            state = state.update(Simulation.STEP_SIZE);
+            ++reportTicks;
+            ++ticks;
+
+            // Start a new game if the game has ended.
+            if (!(state instanceof PlayState)) {
+
+                context.reset();
+                state = startGame(context);
+                ++games;
+
+            }
+
+            now = System.nanoTime();
+            if (now - reportStart >= REPORT_INTERVAL) {
+
+                System.out.printf("%.0f ticks/s, %d random, %d chasers, %d flockers, %d ghosts, %d entities, score %d%n",
+                                  reportTicks * 1e9 / (now - reportStart),
+                                  context.randomManager.size(),
+                                  context.chaserManager.size(),
+                                  context.flockerManager.size(),
+                                  context.ghostManager.size(),
+                                  context.entities.size(),
+                                  context.score);
+                totalTicks += reportTicks;
+                reportTicks = 0;
+                reportStart = now;
+
+            }
+
+        }
+        totalTicks += reportTicks;
+        System.out.printf("%d ticks in %.1f s (%.0f ticks/s, %.1fx real time), %d games%n",
+                          totalTicks,
+                          (now - start) / 1e9,
+                          totalTicks * 1e9 / (now - start),
+                          totalTicks * 1e9 / (now - start) / Simulation.UPDATE_RATE,
+                          games);
+        System.out.printf("state digest %016x%n", digest(context));
+        printPool("normal lasers", context.projectileManager.getPool(NormalLaser.ID));
+        printPool("penetrate lasers", context.projectileManager.getPool(PenetrateLaser.ID));
+        printPool("reflect lasers", context.projectileManager.getPool(ReflectLaser.ID));
+        printPool("asteroids", context.asteroidManager.getPool());
+        printPool("powerups", context.powerUpManager.getPool());
+        printPool("random", context.randomManager.getPool());
+        printPool("chasers", context.chaserManager.getPool());
+        printPool("flockers", context.flockerManager.getPool());
+        printPool("ghosts", context.ghostManager.getPool());
+        System.out.printf("events: %d published, %d dropped%n",
+                          context.events.getPublished(),
+                          context.events.getDropped());
+
+    }
+
+    /// Combine the score, ship health and the position and rotation of every
+    /// managed object into a digest of the game's state.
+    /// \param context the context holding the game.
+    /// \return the digest.
+    private static long digest(Context context) {
+
+        long digest = context.score;
+        digest = 31 * digest + context.ship.getHealth();
+        digest = digest(digest, context.ship);
+        digest = digest(digest, context.asteroidManager);
+        digest = digest(digest, context.powerUpManager);
+        digest = digest(digest, context.randomManager);
+        digest = digest(digest, context.chaserManager);
+        digest = digest(digest, context.flockerManager);
+        digest = digest(digest, context.ghostManager);
+        return 31 * digest + context.projectileManager.size();
+
+    }
+
+    /// Add every object of a manager to a digest in order.
+    /// \param digest the digest so far.
+    /// \param manager the manager holding the objects.
+    /// \return the new digest.
+    private static long digest(long digest, SpawnManager<?> manager) {
+
+        digest = 31 * digest + manager.size();
+        for (int i = 0; i < manager.size(); ++i) {
+
+            digest = digest(digest, manager.get(i));
+
+        }
+        return digest;
+
+    }
+
+    /// Add an object's position and rotation to a digest.
+    /// \param digest the digest so far.
+    /// \param object the object to add.
+    /// \return the new digest.
+    private static long digest(long digest, GridObject object) {
+
+        digest = 31 * digest + Float.floatToIntBits(object.getXTranslation());
+        digest = 31 * digest + Float.floatToIntBits(object.getYTranslation());
+        return 31 * digest + Float.floatToIntBits(object.getRotation());
+
+    }
+
+    /// Print how much a pool has been used.
+    /// \param name name of the pooled objects.
+    /// \param pool the pool to print.
+    private static void printPool(String name, Pool<?> pool) {
+
+        System.out.printf("pool %s: capacity %d, %d in use, %d at most, %d allocated, %d dropped%n",
+                          name,
+                          pool.getCapacity(),
+                          pool.getInUse(),
+                          pool.getHighWaterMark(),
+                          pool.getMisses(),
+                          pool.getDropped());
+
+    }
+
+    /// Start a new game with the turret firing and the ship invulnerable.
+    /// \param context the context to play in.
+    /// \return the play state.
+    private static SceneState startGame(Context context) {
+
+        context.ship.setCheat(true);
+        context.turret.setFiring(true);
+        return new PlayState(context);
+
+    }
+
+}
@@ -3,6 +3,7 @@ package camera;
 import processing.core.PVector;
 import transform.Transformable;
 import config.Config;
+import rect.Rect;
 
 /// Camera that can zoom in and out and be centred on a position.
 public class Camera extends Transformable {
@@ -52,6 +53,15 @@ public class Camera extends Transformable {
     /// \param pos the position to centre the camera on.
     public void centre(PVector pos) {
 
+        centre(pos.x, pos.y);
+
+    }
+
+    /// Centre camera on a position.
+    /// \param x x component of the position to centre the camera on.
+    /// \param y y component of the position to centre the camera on.
+    public void centre(float x, float y) {
+
         float xScale = getXScale();
         float yScale = getYScale();
 
@@ -60,8 +70,8 @@ public class Camera extends Transformable {
         float areaWidth = Config.AREA_WIDTH * xScale;
         float areaHeight = Config.AREA_HEIGHT * yScale;
 
-        float newX = -pos.x * xScale + windowWidth / 2f;
-        float newY = -pos.y * yScale + windowHeight / 2f;
+        float newX = -x * xScale + windowWidth / 2f;
+        float newY = -y * yScale + windowHeight / 2f;
 
         // Move camera back if it would go out of bounds.
         if (newX > 0f) {
@@ -86,6 +96,21 @@ public class Camera extends Transformable {
 
     }
 
+    /// Get the area of the world currently visible through the camera.
+    /// \param out rectangle to store the visible area in.
+    /// \return out, containing the visible area.
+    public Rect getView(Rect out) {
+
+        float xScale = getXScale();
+        float yScale = getYScale();
+        out.x = -getXTranslation() / xScale;
+        out.y = -getYTranslation() / yScale;
+        out.width = Config.WINDOW_WIDTH / xScale;
+        out.height = Config.WINDOW_HEIGHT / yScale;
+        return out;
+
+    }
+
     /// Update camera scaling.
     private void updateScale() {
 
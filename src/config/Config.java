@@ -10,9 +10,9 @@ public class Config {
     public static final int WINDOW_WIDTH = 1000;
     public static final int WINDOW_HEIGHT = 750;
 
-    // Size of the play area.
-    public static final float AREA_WIDTH = 2000f;
-    public static final float AREA_HEIGHT = 1500f;
+    // Size of the play area (larger in horde mode).
+    public static final float AREA_WIDTH = Horde.getAreaWidth(2000f);
+    public static final float AREA_HEIGHT = Horde.getAreaHeight(1500f);
 
     // Texture identifiers.
     public static final String SHIP_TEXTURE_ID = new String("ship");
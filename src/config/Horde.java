@@ -0,0 +1,86 @@
+package config;
+
+/// Settings for horde mode, a stress test with far more enemies spawning far
+/// faster in a larger world. Enabled at launch with -Dhorde=true, after which
+/// every setting has a horde default that can be overridden by its own
+/// property:
+///
+/// - horde.width and horde.height: size of the play area.
+/// - horde.TYPE.max: most enemies of a type (chaser, random, flocker, ghost).
+/// - horde.TYPE.interval: seconds between spawns of a type, including
+///   asteroids.
+///
+/// Enemy managers spawn at their configured rate up to their cap instead of
+/// backing off when there are many enemies, so the load stays as configured.
+/// When horde mode is off the normal game values are used.
+public class Horde {
+
+    /// Whether horde mode is enabled.
+    public static final boolean ENABLED = Boolean.getBoolean("horde");
+
+    /// Default size of the play area in horde mode.
+    private static final float DEFAULT_WIDTH = 8000f;
+    private static final float DEFAULT_HEIGHT = 6000f;
+
+    /// Get the width of the play area.
+    /// \param normal the width outside of horde mode.
+    /// \return the configured width.
+    public static float getAreaWidth(float normal) {
+
+        return ENABLED ? getFloat("horde.width", DEFAULT_WIDTH) : normal;
+
+    }
+
+    /// Get the height of the play area.
+    /// \param normal the height outside of horde mode.
+    /// \return the configured height.
+    public static float getAreaHeight(float normal) {
+
+        return ENABLED ? getFloat("horde.height", DEFAULT_HEIGHT) : normal;
+
+    }
+
+    /// Get the most enemies of a type.
+    /// \param type name of the enemy type used in its property.
+    /// \param normal the cap outside of horde mode.
+    /// \param horde the cap in horde mode if not overridden.
+    /// \return the configured cap.
+    public static int getMax(String type, int normal, int horde) {
+
+        if (!ENABLED) {
+
+            return normal;
+
+        }
+        return Integer.getInteger("horde." + type + ".max", horde);
+
+    }
+
+    /// Get the time between spawns of a type of object.
+    /// \param type name of the object type used in its property.
+    /// \param normal the interval outside of horde mode.
+    /// \param horde the interval in horde mode if not overridden.
+    /// \return the configured interval in seconds.
+    public static float getInterval(String type, float normal, float horde) {
+
+        if (!ENABLED) {
+
+            return normal;
+
+        }
+        return getFloat("horde." + type + ".interval", horde);
+
+    }
+
+    /// Read a float system property.
+    /// \param key the property name.
+    /// \param fallback value to use if the property is not set.
+    /// \return the property's value or the fallback.
+    private static float getFloat(String key, float fallback) {
+
+        String value = System.getProperty(key);
+        return value == null ? fallback : Float.parseFloat(value);
+
+    }
+
+}
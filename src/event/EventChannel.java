@@ -0,0 +1,122 @@
+package event;
+
+/// Fixed size ring buffer of gameplay events, each a type and an int value.
+/// Publishing never allocates or blocks. Any number of subscriptions can
+/// read the same stream, each keeping its own position, and drain every
+/// event published since they last drained in one batch. A subscription
+/// that falls more than the capacity behind skips the events that have been
+/// overwritten, and the channel counts them as dropped.
+public class EventChannel {
+
+    // Event types.
+    /// A power-up was collected (value is the power-up ID).
+    public static final int POWER_UP_COLLECTED = 0;
+
+    /// An enemy damaged the ship (value is the enemy ID).
+    public static final int SHIP_DAMAGED = 1;
+
+    /// A laser killed an enemy (value is the score for the kill).
+    public static final int ENEMY_KILLED = 2;
+
+    /// Type and value of each event in the buffer.
+    private final int[] mTypes;
+    private final int[] mValues;
+
+    /// Mask to wrap sequence numbers into buffer indices.
+    private final int mMask;
+
+    /// Sequence number of the next event to publish.
+    private long mNext;
+
+    /// Number of events overwritten before a subscription read them, summed
+    /// over every subscription.
+    private long mDropped;
+
+    /// Initialise an empty channel.
+    /// \param capacity the number of events kept (must be a power of 2).
+    public EventChannel(int capacity) {
+
+        assert capacity > 0 && (capacity & (capacity - 1)) == 0;
+        mTypes = new int[capacity];
+        mValues = new int[capacity];
+        mMask = capacity - 1;
+        mNext = 0;
+        mDropped = 0;
+
+    }
+
+    /// Publish an event to every subscription.
+    /// \param type the type of the event.
+    /// \param value the value carried by the event.
+    public void publish(int type, int value) {
+
+        int index = (int)(mNext & mMask);
+        mTypes[index] = type;
+        mValues[index] = value;
+        ++mNext;
+
+    }
+
+    /// Subscribe to events published from now on.
+    /// \param listener listener to pass drained events to.
+    /// \return the new subscription.
+    public Subscription subscribe(EventListener listener) {
+
+        return new Subscription(this, listener, mNext);
+
+    }
+
+    /// Get the number of events published.
+    public long getPublished() {
+
+        return mNext;
+
+    }
+
+    /// Get the number of events overwritten before a subscription read them,
+    /// summed over every subscription.
+    public long getDropped() {
+
+        return mDropped;
+
+    }
+
+    /// Count events a subscription skipped because they were overwritten.
+    /// \param count the number of events skipped.
+    void addDropped(long count) {
+
+        mDropped += count;
+
+    }
+
+    /// Get the sequence number of the next event to publish.
+    long getNext() {
+
+        return mNext;
+
+    }
+
+    /// Get the number of events kept.
+    int getCapacity() {
+
+        return mMask + 1;
+
+    }
+
+    /// Get the type of a published event.
+    /// \param sequence the event's sequence number.
+    int getType(long sequence) {
+
+        return mTypes[(int)(sequence & mMask)];
+
+    }
+
+    /// Get the value of a published event.
+    /// \param sequence the event's sequence number.
+    int getValue(long sequence) {
+
+        return mValues[(int)(sequence & mMask)];
+
+    }
+
+}
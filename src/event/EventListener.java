@@ -0,0 +1,11 @@
+package event;
+
+/// Receives events drained from an event channel.
+public interface EventListener {
+
+    /// Handle an event.
+    /// \param type the type of the event.
+    /// \param value the value carried by the event.
+    void onEvent(int type, int value);
+
+}
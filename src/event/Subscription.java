@@ -0,0 +1,51 @@
+package event;
+
+/// One reader's position in an event channel.
+public class Subscription {
+
+    /// Channel read from.
+    private final EventChannel mChannel;
+
+    /// Listener to pass drained events to.
+    private final EventListener mListener;
+
+    /// Sequence number of the next event to read.
+    private long mNext;
+
+    /// Initialise subscription.
+    /// \param channel channel to read from.
+    /// \param listener listener to pass drained events to.
+    /// \param next sequence number of the first event to read.
+    Subscription(EventChannel channel, EventListener listener, long next) {
+
+        mChannel = channel;
+        mListener = listener;
+        mNext = next;
+
+    }
+
+    /// Pass every event published since the last drain to the listener.
+    /// \return the number of events drained.
+    public int drain() {
+
+        long end = mChannel.getNext();
+        long oldest = end - mChannel.getCapacity();
+        if (mNext < oldest) {
+
+            mChannel.addDropped(oldest - mNext);
+            mNext = oldest;
+
+        }
+
+        int count = (int)(end - mNext);
+        while (mNext < end) {
+
+            mListener.onEvent(mChannel.getType(mNext), mChannel.getValue(mNext));
+            ++mNext;
+
+        }
+        return count;
+
+    }
+
+}
@@ -9,29 +9,40 @@ import grid.Cell;
 /// Asteroid that drifts slowly through the play area.
 public class Asteroid extends GridObject {
 
+    /// Asteroids do not check for collisions (other objects instead check
+    /// if they collide with the asteroid).
+    static final int COLLISION_MASK = 0;
+
     /// Speed that asteroid rotates.
     private static final float ROTATE_RATE = 20f;
 
-    /// The velocity that the asteroid is traveling at.
-    private final PVector mVelocity;
-
     /// Initialise asteroid properties.
-    public Asteroid(Texture texture, Grid grid, PVector velocity) {
+    public Asteroid(Texture texture, Grid grid, EntityStore entities, PVector velocity) {
+
+        super(texture, grid, entities, ASTEROID_LAYER);
+        setVelocity(velocity.x, velocity.y);
 
-        super(texture, grid);
-        mVelocity = velocity.copy();
+        mCollisionMask = COLLISION_MASK;
 
-        // Don't need to check collisions for asteroid (other
-        // objects instead check if the collide with the asteroid).
-        mCanCollide = false;
+        // Asteroids block path finding through the cells they occupy.
+        mObstacle = true;
 
     }
 
-    /// Update the asteroid by moving and rotating.
+    /// Reset a released asteroid so it can be spawned again.
+    /// \param xVelocity x component of the asteroid's velocity.
+    /// \param yVelocity y component of the asteroid's velocity.
+    public void reset(float xVelocity, float yVelocity) {
+
+        reset();
+        setVelocity(xVelocity, yVelocity);
+
+    }
+
+    /// Update the asteroid by rotating (the entity store moves it).
     /// \param delta the time since the last update.
     protected void updateCurrent(float delta) {
 
-        translate(PVector.mult(mVelocity, delta));
         rotate(ROTATE_RATE * delta);
 
     }
@@ -41,6 +52,7 @@ public class Asteroid extends GridObject {
     protected void addToCell(Cell cell) {
 
         cell.asteroids.add(this);
+        mGrid.addObstacle(cell.id);
 
     }
 
@@ -49,6 +61,16 @@ public class Asteroid extends GridObject {
     protected void removeFromCell(Cell cell) {
 
         cell.asteroids.remove(this);
+        mGrid.removeObstacle(cell.id);
+
+    }
+
+    /// Pass a collision with this asteroid to another object.
+    /// \param receiver the object to notify of the collision.
+    /// \param commands buffer for effects on objects other than the receiver.
+    protected void sendCollision(GridObject receiver, CollisionCommands commands) {
+
+        receiver.handleCollision(this, commands);
 
     }
 
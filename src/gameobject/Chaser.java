@@ -1,10 +1,9 @@
 package gameobject;
 
-import java.util.ArrayList;
 import processing.core.PVector;
 import grid.Grid;
-import grid.Coordinates;
 import texture.Texture;
+import transform.Vec2;
 import config.Config;
 
 
@@ -22,14 +21,15 @@ public class Chaser extends PathEnemy {
     /// Ship to chase.
     private Ship mShip;
 
-    /// Coordinates of path leading to ship.
-    private ArrayList<Coordinates> mPath;
+    /// Next cell towards the ship from the shared flow field (-1 if none).
+    private int mNextCell;
 
     /// Initialise chaser.
-    public Chaser(Texture texture, Grid grid, Ship ship) {
+    public Chaser(Texture texture, Grid grid, EntityStore entities, Ship ship) {
 
         super(texture, 
               grid, 
+              entities,
               ID,
               SCORE_VALUE, 
               PATH_INTERVAL, 
@@ -37,42 +37,46 @@ public class Chaser extends PathEnemy {
               ACCELERATION,
               ROTATE_RATE);
         mShip = ship;
-        mPath = null;
+        mNextCell = -1;
 
     }
 
-    /// Update the target to pursue the ship.
-    protected PVector updateTarget() {
+    /// Look up the next cell towards the ship before steering, since reading
+    /// the flow field may rebuild it.
+    /// \param delta time since last update.
+    protected void plan(float delta) {
 
-        // Pop first element if the point in the path has been reached.
-        if (mPath != null && !mPath.isEmpty() && mPath.get(0).equals(mCoords)) {
+        super.plan(delta);
+        int shipCell = mShip.getCellId();
+        mNextCell = -1;
+        if (shipCell != -1 && mCellId != shipCell) {
 
-            mPath.remove(0); 
+            mNextCell = mGrid.getFlowField(shipCell).getNext(mCellId);
 
         }
-        PVector target = null;
-
-        // If not in same cell as ship, use next cell in path as target (as long as there is a
-        // path).
-        if (!mCoords.equals(mShip.getCoords()) && mPath != null && !mPath.isEmpty()) {
-            
-            target = mGrid.getTranslation(mPath.get(0));
 
-        // Otherwise, move directly towards the ship.
-        } else {
+    }
 
-            target = mShip.getTranslation();
+    /// Update the target to pursue the ship.
+    protected boolean updateTarget(Vec2 target) {
 
-        }
-        return  target;
+        // If not in same cell as ship, use the next cell of the shared flow field
+        // towards the ship as the target (as long as the ship can be reached).
+        if (mNextCell != -1) {
 
-    }
+            mGrid.getCentre(mNextCell, target);
+            return true;
 
-    /// Update path leading towards ship.
-    protected void updatePath() {
+        }
 
-        mPath = mGrid.getShortestPath(mCoords, mShip.getCoords());
+        // Otherwise, move directly towards the ship.
+        mShip.getTranslation(target);
+        return true;
 
     }
 
+    /// Pathing is read from the grid's shared flow field on each update so
+    /// there is no path for the chaser to refresh.
+    protected void updatePath() {}
+
 }
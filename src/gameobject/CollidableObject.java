@@ -10,6 +10,9 @@ public class CollidableObject extends TextureObject {
     /// Multiplier to use for radius calculation.
     private static final float RADIUS_MULTIPLIER = 0.9f;
 
+    /// Collision radius, cached since it only changes with clip and scale.
+    private float mRadius;
+
     /// Initialise texture used for displaying object.
     public CollidableObject(Texture texture) {
 
@@ -17,6 +20,7 @@ public class CollidableObject extends TextureObject {
 
         // Centre origin.
         setOrigin(getWidth() / 2f, getHeight() / 2f);
+        updateRadius();
 
     }
 
@@ -24,40 +28,43 @@ public class CollidableObject extends TextureObject {
     /// \return current collision radius of object.
     public float getRadius() {
 
-        // Use smaller out of width and height to define radius.
-        float radius = 0f;
-        if (getHeight() > getWidth()) {
+        return mRadius;
 
-            radius =  getWidth() / 2f;
+    }
+    
 
-        } else {
+    protected void setClip(int clip) {
 
-            radius = getHeight() / 2f;
+        super.setClip(clip);
 
-        }
-        return radius * RADIUS_MULTIPLIER;
+        // Centre origin.
+        setOrigin(getWidth() / 2f, getHeight() / 2f);
+        updateRadius();
 
     }
-    
 
-    /// Check if this object collides with another Collidable object.
-    /// \param other the other object to check with collision.
-    /// \return whether this object and other collide.
-    public boolean collides(CollidableObject other) {
+    /// Recalculate radius when the scale changes.
+    protected void onScaleChanged() {
 
-        // Objects collide if sum of their radii is less than the distance 
-        // between their centres.
-        return (other.getRadius() + getRadius()) > getTranslation().dist(other.getTranslation());
+        updateRadius();
 
     }
 
+    /// Recalculate the cached radius from the current clip and scale.
+    private void updateRadius() {
 
-    protected void setClip(int clip) {
+        // Use smaller out of width and height to define radius.
+        float radius = 0f;
+        if (getHeight() > getWidth()) {
 
-        super.setClip(clip);
+            radius =  getWidth() / 2f;
 
-        // Centre origin.
-        setOrigin(getWidth() / 2f, getHeight() / 2f);
+        } else {
+
+            radius = getHeight() / 2f;
+
+        }
+        mRadius = radius * RADIUS_MULTIPLIER;
 
     }
 
@@ -0,0 +1,139 @@
+package gameobject;
+
+import event.EventChannel;
+
+/// Buffer of effects that collision handlers have on objects other than
+/// themselves (destroying another object, scoring, damaging or powering up
+/// the ship). Handlers record commands instead of changing other objects
+/// directly and the collision phase applies them in the order they were
+/// recorded once every contact has been handled, publishing an event for
+/// each kill, hit on the ship and power-up collected. Objects marked for
+/// destruction are flagged in the entity store straight away so later
+/// contacts in the same pass ignore them, as they would if destroyed.
+public class CollisionCommands {
+
+    // Command types.
+    private static final int DESTROY = 0;
+    private static final int SCORE = 1;
+    private static final int DAMAGE = 2;
+    private static final int POWER_UP = 3;
+
+    /// Number of commands the buffer can hold before growing.
+    private static final int INITIAL_CAPACITY = 64;
+
+    /// Store to flag objects marked for destruction in.
+    private final EntityStore mStore;
+
+    /// Channel to publish gameplay events to.
+    private final EventChannel mEvents;
+
+    /// Recorded commands as parallel arrays of type, target and value.
+    private int[] mTypes;
+    private GridObject[] mTargets;
+    private int[] mValues;
+
+    /// Number of recorded commands.
+    private int mSize;
+
+    /// Initialise an empty buffer.
+    /// \param store store to flag objects marked for destruction in.
+    /// \param events channel to publish gameplay events to.
+    CollisionCommands(EntityStore store, EventChannel events) {
+
+        mStore = store;
+        mEvents = events;
+        mTypes = new int[INITIAL_CAPACITY];
+        mTargets = new GridObject[INITIAL_CAPACITY];
+        mValues = new int[INITIAL_CAPACITY];
+        mSize = 0;
+
+    }
+
+    /// Record that an object should be destroyed.
+    /// \param target the object to destroy.
+    void destroy(GridObject target) {
+
+        mStore.mFlags[target.getStoreIndex()] |= EntityStore.DOOMED;
+        add(DESTROY, target, 0);
+
+    }
+
+    /// Record an enemy being killed.
+    /// \param value the number of points scored for the kill.
+    void score(int value) {
+
+        add(SCORE, null, value);
+
+    }
+
+    /// Record the ship being damaged by an enemy.
+    /// \param ship the damaged ship.
+    /// \param enemyId the ID of the enemy that damaged the ship.
+    void damage(Ship ship, int enemyId) {
+
+        add(DAMAGE, ship, enemyId);
+
+    }
+
+    /// Record the ship collecting a power-up.
+    /// \param ship the ship collecting the power-up.
+    /// \param id the ID of the collected power-up.
+    void powerUp(Ship ship, int id) {
+
+        add(POWER_UP, ship, id);
+
+    }
+
+    /// Apply every recorded command in order then clear the buffer.
+    void apply() {
+
+        for (int i = 0; i < mSize; ++i) {
+
+            switch (mTypes[i]) {
+                case DESTROY:
+                    mTargets[i].destroy();
+                    break;
+                case SCORE:
+                    mEvents.publish(EventChannel.ENEMY_KILLED, mValues[i]);
+                    break;
+                case DAMAGE:
+                    ((Ship)mTargets[i]).takeDamage();
+                    mEvents.publish(EventChannel.SHIP_DAMAGED, mValues[i]);
+                    break;
+                case POWER_UP:
+                    ((Ship)mTargets[i]).collectPowerUp(mValues[i]);
+                    mEvents.publish(EventChannel.POWER_UP_COLLECTED, mValues[i]);
+                    break;
+            }
+            mTargets[i] = null;
+
+        }
+        mSize = 0;
+
+    }
+
+    /// Record a command, growing the buffer if full.
+    private void add(int type, GridObject target, int value) {
+
+        if (mSize == mTypes.length) {
+
+            int capacity = mSize * 2;
+            int[] types = new int[capacity];
+            GridObject[] targets = new GridObject[capacity];
+            int[] values = new int[capacity];
+            System.arraycopy(mTypes, 0, types, 0, mSize);
+            System.arraycopy(mTargets, 0, targets, 0, mSize);
+            System.arraycopy(mValues, 0, values, 0, mSize);
+            mTypes = types;
+            mTargets = targets;
+            mValues = values;
+
+        }
+        mTypes[mSize] = type;
+        mTargets[mSize] = target;
+        mValues[mSize] = value;
+        ++mSize;
+
+    }
+
+}
@@ -0,0 +1,474 @@
+package gameobject;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import grid.Grid;
+import grid.Cell;
+import grid.CellList;
+import event.EventChannel;
+
+/// Collision pass run once per tick after every object has moved. Each cell
+/// is paired with itself and the forward half of its neighbourhood (right,
+/// below left, below and below right) so every candidate pair of objects is
+/// tested exactly once. Layer masks let the pass skip empty lists and pairs
+/// of layers that never react to each other, and overlap tests read
+/// positions and radii from the entity store.
+///
+/// The pass runs in three steps. Overlapping pairs are first found against
+/// the positions at the start of the pass, with the rows of the grid split
+/// into bands that are searched in parallel when there are enough objects,
+/// each band writing to its own contact buffer. The buffers are then read
+/// in band order, which is the same order a serial search finds contacts
+/// in, and each contact is dispatched to the handleCollision overloads of
+/// whichever objects in the pair check for collisions. Handlers only change
+/// their own object and record anything else as commands, which are applied
+/// in order at the end. The results are the same whether or not the search
+/// runs in parallel, which can be checked by enabling verification.
+public class CollisionPhase {
+
+    /// Fewest objects worth searching for contacts in parallel.
+    private static final int PARALLEL_THRESHOLD = 512;
+
+    /// Grid to find collisions in.
+    private final Grid mGrid;
+
+    /// Store holding the positions and radii of objects in the grid.
+    private final EntityStore mStore;
+
+    /// Layers that can react to each other, stored as parallel arrays of
+    /// layer pairs (first <= second).
+    private final int[] mFirstLayers;
+    private final int[] mSecondLayers;
+
+    /// Contact buffer of each band of rows.
+    private ContactBuffer[] mBuffers;
+
+    /// Commands recorded by collision handlers.
+    private final CollisionCommands mCommands;
+
+    /// Whether to search for contacts in parallel.
+    private boolean mParallel;
+
+    /// Whether to check parallel searches against a serial search, and the
+    /// buffer the serial search writes to (null unless verifying).
+    private boolean mVerify;
+    private ContactBuffer mVerifyBuffer;
+
+    /// Initialise collision phase.
+    /// \param grid grid to find collisions in.
+    /// \param entities store holding the positions and radii of the objects.
+    /// \param events channel to publish events caused by collisions to.
+    public CollisionPhase(Grid grid, EntityStore entities, EventChannel events) {
+
+        mGrid = grid;
+        mStore = entities;
+
+        // Combine the masks declared by each type into the widest mask of each layer.
+        int[] masks = new int[GridObject.LAYER_COUNT];
+        masks[GridObject.SHIP_LAYER] = Ship.COLLISION_MASK;
+        masks[GridObject.LASER_LAYER] = Laser.COLLISION_MASK;
+        masks[GridObject.ASTEROID_LAYER] = Asteroid.COLLISION_MASK;
+        masks[GridObject.POWERUP_LAYER] = PowerUp.COLLISION_MASK;
+        masks[GridObject.ENEMY_LAYER] = PathEnemy.COLLISION_MASK | Ghost.COLLISION_MASK;
+
+        // Keep only the layer pairs where at least one side reacts to the other.
+        int[] first = new int[GridObject.LAYER_COUNT * GridObject.LAYER_COUNT];
+        int[] second = new int[first.length];
+        int pairs = 0;
+        for (int i = 0; i < GridObject.LAYER_COUNT; ++i) {
+
+            for (int j = i; j < GridObject.LAYER_COUNT; ++j) {
+
+                if ((masks[i] & GridObject.layerBit(j)) != 0 || 
+                    (masks[j] & GridObject.layerBit(i)) != 0) {
+
+                    first[pairs] = i;
+                    second[pairs] = j;
+                    ++pairs;
+
+                }
+
+            }
+
+        }
+        mFirstLayers = new int[pairs];
+        mSecondLayers = new int[pairs];
+        System.arraycopy(first, 0, mFirstLayers, 0, pairs);
+        System.arraycopy(second, 0, mSecondLayers, 0, pairs);
+
+        mBuffers = new ContactBuffer[] {new ContactBuffer()};
+        mCommands = new CollisionCommands(mStore, events);
+        mParallel = false;
+        mVerify = false;
+        mVerifyBuffer = null;
+
+    }
+
+    /// Set whether contacts are searched for in parallel when there are many
+    /// objects.
+    /// \param parallel whether to search in parallel.
+    public void setParallel(boolean parallel) {
+
+        mParallel = parallel;
+
+    }
+
+    /// Set whether each parallel search is checked against a serial search of
+    /// the whole grid, failing if the contacts or their order differ. This
+    /// repeats the search so is only meant for checking.
+    /// \param verify whether to check parallel searches.
+    public void setVerify(boolean verify) {
+
+        mVerify = verify;
+        mVerifyBuffer = verify ? new ContactBuffer() : null;
+
+    }
+
+    /// Find and handle all collisions in the grid.
+    public void run() {
+
+        int rows = mGrid.getRows();
+        int bands = 1;
+        if (mParallel && mStore.size() >= PARALLEL_THRESHOLD) {
+
+            bands = Math.min(rows, ForkJoinPool.getCommonPoolParallelism());
+
+        }
+        if (mBuffers.length != bands) {
+
+            mBuffers = new ContactBuffer[bands];
+            for (int i = 0; i < bands; ++i) {
+
+                mBuffers[i] = new ContactBuffer();
+
+            }
+
+        }
+
+        // Find contacts in each band of rows.
+        if (bands == 1) {
+
+            findContacts(0, rows, mBuffers[0]);
+
+        } else {
+
+            ForkJoinPool.commonPool().invoke(new BandTask(0, bands));
+
+        }
+
+        // Search serially as well when checking a parallel search.
+        boolean verify = mVerify && bands > 1;
+        if (verify) {
+
+            findContacts(0, rows, mVerifyBuffer);
+
+        }
+
+        // Handle contacts in the order they were found then apply commands.
+        int index = 0;
+        for (int i = 0; i < bands; ++i) {
+
+            ContactBuffer buffer = mBuffers[i];
+            for (int j = 0; j < buffer.size(); ++j) {
+
+                GridObject first = buffer.getFirst(j);
+                GridObject second = buffer.getSecond(j);
+                if (verify) {
+
+                    verifyContact(index++, first, second);
+
+                }
+                dispatch(first, second);
+
+            }
+            buffer.clear();
+
+        }
+        if (verify) {
+
+            if (index != mVerifyBuffer.size()) {
+
+                throw new IllegalStateException("Parallel search found " + index + " contacts but the serial search found " + 
+                                                mVerifyBuffer.size() + ".");
+
+            }
+            mVerifyBuffer.clear();
+
+        }
+        mCommands.apply();
+
+    }
+
+    /// Check a contact handled after a parallel search matches the contact
+    /// the serial search found at the same position.
+    /// \param index position of the contact in the order handled.
+    /// \param first first object of the contact.
+    /// \param second second object of the contact.
+    private void verifyContact(int index, GridObject first, GridObject second) {
+
+        if (index >= mVerifyBuffer.size() ||
+            first != mVerifyBuffer.getFirst(index) ||
+            second != mVerifyBuffer.getSecond(index)) {
+
+            throw new IllegalStateException("Parallel contact " + index + " differs from the serial search.");
+
+        }
+
+    }
+
+    /// Find contacts between objects in a band of rows of the grid.
+    /// \param startRow first row of the band.
+    /// \param endRow row after the last row of the band.
+    /// \param buffer buffer to add contacts to.
+    private void findContacts(int startRow, int endRow, ContactBuffer buffer) {
+
+        int columns = mGrid.getColumns();
+        int rows = mGrid.getRows();
+
+        for (int y = startRow; y < endRow; ++y) {
+
+            for (int x = 0; x < columns; ++x) {
+
+                int id = y * columns + x;
+                Cell cell = mGrid.getCell(id);
+                if (cell.getLayers() == 0) {
+
+                    continue;
+
+                }
+                collideWithin(cell, buffer);
+
+                if (x + 1 < columns) {
+
+                    collideBetween(cell, mGrid.getCell(id + 1), buffer);
+
+                }
+                if (y + 1 < rows) {
+
+                    if (x > 0) {
+
+                        collideBetween(cell, mGrid.getCell(id + columns - 1), buffer);
+
+                    }
+                    collideBetween(cell, mGrid.getCell(id + columns), buffer);
+                    if (x + 1 < columns) {
+
+                        collideBetween(cell, mGrid.getCell(id + columns + 1), buffer);
+
+                    }
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /// Find contacts between objects in the same cell.
+    /// \param cell cell to find contacts in.
+    /// \param buffer buffer to add contacts to.
+    private void collideWithin(Cell cell, ContactBuffer buffer) {
+
+        int layers = cell.getLayers();
+        for (int k = 0; k < mFirstLayers.length; ++k) {
+
+            int i = mFirstLayers[k];
+            int j = mSecondLayers[k];
+            if ((layers & GridObject.layerBit(i)) != 0 && (layers & GridObject.layerBit(j)) != 0) {
+
+                if (i == j) {
+
+                    collide(cell.getList(i), buffer);
+
+                } else {
+
+                    collide(cell.getList(i), cell.getList(j), buffer);
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /// Find contacts between objects in two different cells.
+    /// \param a first cell.
+    /// \param b second cell.
+    /// \param buffer buffer to add contacts to.
+    private void collideBetween(Cell a, Cell b, ContactBuffer buffer) {
+
+        int layersA = a.getLayers();
+        int layersB = b.getLayers();
+        if (layersB == 0) {
+
+            return;
+
+        }
+        for (int k = 0; k < mFirstLayers.length; ++k) {
+
+            int i = mFirstLayers[k];
+            int j = mSecondLayers[k];
+            int bitI = GridObject.layerBit(i);
+            int bitJ = GridObject.layerBit(j);
+            if ((layersA & bitI) != 0 && (layersB & bitJ) != 0) {
+
+                collide(a.getList(i), b.getList(j), buffer);
+
+            }
+            if (i != j && (layersA & bitJ) != 0 && (layersB & bitI) != 0) {
+
+                collide(a.getList(j), b.getList(i), buffer);
+
+            }
+
+        }
+
+    }
+
+    /// Find contacts between each pair of objects in one list.
+    private void collide(CellList<? extends GridObject> list, ContactBuffer buffer) {
+
+        int size = list.size();
+        for (int i = 0; i < size; ++i) {
+
+            GridObject a = list.get(i);
+            for (int j = i + 1; j < size; ++j) {
+
+                collide(a, list.get(j), buffer);
+
+            }
+
+        }
+
+    }
+
+    /// Find contacts between each object in one list and each in another.
+    private void collide(CellList<? extends GridObject> a, 
+                         CellList<? extends GridObject> b, 
+                         ContactBuffer buffer) {
+
+        int sizeA = a.size();
+        int sizeB = b.size();
+        for (int i = 0; i < sizeA; ++i) {
+
+            GridObject object = a.get(i);
+            for (int j = 0; j < sizeB; ++j) {
+
+                collide(object, b.get(j), buffer);
+
+            }
+
+        }
+
+    }
+
+    /// Check whether two live entities in the store overlap.
+    /// \param i store index of the first entity.
+    /// \param j store index of the second entity.
+    /// \return whether neither entity is destroyed and their radii overlap.
+    private boolean overlaps(int i, int j) {
+
+        int[] flags = mStore.mFlags;
+        if (((flags[i] | flags[j]) & EntityStore.DESTROYED) != 0) {
+
+            return false;
+
+        }
+
+        // Compare squared distance between centres with squared sum of radii.
+        float dx = mStore.mX[j] - mStore.mX[i];
+        float dy = mStore.mY[j] - mStore.mY[i];
+        float radii = mStore.mRadius[i] + mStore.mRadius[j];
+        return (dx * dx + dy * dy) < (radii * radii);
+
+    }
+
+    /// Test a single pair, adding it as a contact if either object handles
+    /// collisions with the other's layer and they overlap.
+    private void collide(GridObject a, GridObject b, ContactBuffer buffer) {
+
+        if ((handles(a, b) || handles(b, a)) && overlaps(a.getStoreIndex(), b.getStoreIndex())) {
+
+            buffer.add(a, b);
+
+        }
+
+    }
+
+    /// Dispatch a contact to whichever objects handle collisions with the
+    /// other's layer, skipping objects destroyed or marked for destruction
+    /// earlier in the pass.
+    private void dispatch(GridObject a, GridObject b) {
+
+        if (removed(a) || removed(b)) {
+
+            return;
+
+        }
+        if (handles(a, b)) {
+
+            b.sendCollision(a, mCommands);
+
+        }
+        if (handles(b, a) && !removed(a) && !removed(b)) {
+
+            a.sendCollision(b, mCommands);
+
+        }
+
+    }
+
+    /// Check whether an object handles collisions with another's layer.
+    private static boolean handles(GridObject receiver, GridObject other) {
+
+        return (receiver.mCollisionMask & GridObject.layerBit(other.mLayer)) != 0;
+
+    }
+
+    /// Check whether an object has been destroyed or marked for destruction.
+    private boolean removed(GridObject object) {
+
+        return (mStore.mFlags[object.getStoreIndex()] & (EntityStore.DESTROYED | EntityStore.DOOMED)) != 0;
+
+    }
+
+    /// Task finding contacts in a range of bands, split until one band each.
+    private class BandTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /// Range of bands to search.
+        private final int mStart;
+        private final int mEnd;
+
+        /// Initialise task.
+        /// \param start first band to search.
+        /// \param end band after the last band to search.
+        BandTask(int start, int end) {
+
+            mStart = start;
+            mEnd = end;
+
+        }
+
+        /// Search the band in range or split the range in two.
+        protected void compute() {
+
+            if (mEnd - mStart == 1) {
+
+                int rows = mGrid.getRows();
+                int bands = mBuffers.length;
+                findContacts(mStart * rows / bands, (mStart + 1) * rows / bands, mBuffers[mStart]);
+                return;
+
+            }
+            int middle = (mStart + mEnd) >>> 1;
+            invokeAll(new BandTask(mStart, middle), new BandTask(middle, mEnd));
+
+        }
+
+    }
+
+}
@@ -0,0 +1,81 @@
+package gameobject;
+
+/// Pairs of overlapping objects found by one worker of the collision phase,
+/// kept in the order they were found.
+class ContactBuffer {
+
+    /// Number of contacts the buffer can hold before growing.
+    private static final int INITIAL_CAPACITY = 64;
+
+    /// Objects in each contact.
+    private GridObject[] mFirst;
+    private GridObject[] mSecond;
+
+    /// Number of contacts in the buffer.
+    private int mSize;
+
+    /// Initialise an empty buffer.
+    ContactBuffer() {
+
+        mFirst = new GridObject[INITIAL_CAPACITY];
+        mSecond = new GridObject[INITIAL_CAPACITY];
+        mSize = 0;
+
+    }
+
+    /// Get the number of contacts in the buffer.
+    int size() {
+
+        return mSize;
+
+    }
+
+    /// Get the first object of a contact.
+    GridObject getFirst(int index) {
+
+        return mFirst[index];
+
+    }
+
+    /// Get the second object of a contact.
+    GridObject getSecond(int index) {
+
+        return mSecond[index];
+
+    }
+
+    /// Add a contact, growing the buffer if full.
+    /// \param a first object of the contact.
+    /// \param b second object of the contact.
+    void add(GridObject a, GridObject b) {
+
+        if (mSize == mFirst.length) {
+
+            GridObject[] first = new GridObject[mSize * 2];
+            GridObject[] second = new GridObject[mSize * 2];
+            System.arraycopy(mFirst, 0, first, 0, mSize);
+            System.arraycopy(mSecond, 0, second, 0, mSize);
+            mFirst = first;
+            mSecond = second;
+
+        }
+        mFirst[mSize] = a;
+        mSecond[mSize] = b;
+        ++mSize;
+
+    }
+
+    /// Remove every contact.
+    void clear() {
+
+        for (int i = 0; i < mSize; ++i) {
+
+            mFirst[i] = null;
+            mSecond[i] = null;
+
+        }
+        mSize = 0;
+
+    }
+
+}
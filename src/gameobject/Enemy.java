@@ -20,10 +20,11 @@ public abstract class Enemy extends GridObject {
     /// Initialise enemy.
     public Enemy(Texture texture, 
                  Grid grid, 
+                 EntityStore entities,
                  int id,
                  int scoreValue) {
 
-        super(texture, grid);
+        super(texture, grid, entities, ENEMY_LAYER);
         mId = id;
         mScoreValue = scoreValue;
 
@@ -43,6 +44,51 @@ public abstract class Enemy extends GridObject {
 
     }
 
+    /// Update the enemy by planning then steering it.
+    /// \param delta time since last update.
+    protected void updateCurrent(float delta) {
+
+        plan(delta);
+        steer(delta);
+
+    }
+
+    /// Carry out the planning step of the update on its own. Must be called
+    /// serially for every enemy before any of them are steered.
+    /// \param delta time since last update.
+    public void updatePlan(float delta) {
+
+        if (!isDestroyed()) {
+
+            plan(delta);
+
+        }
+
+    }
+
+    /// Carry out the steering step of the update on its own. May be called
+    /// concurrently for different enemies once every enemy has planned.
+    /// \param delta time since last update.
+    public void updateSteering(float delta) {
+
+        if (!isDestroyed()) {
+
+            steer(delta);
+
+        }
+
+    }
+
+    /// Update anything shared with other objects, such as random numbers,
+    /// paths or the flow field.
+    /// \param delta time since last update.
+    protected void plan(float delta) {}
+
+    /// Choose the enemy's new velocity and rotation. Other objects may only be
+    /// read and only the enemy's own state may be written.
+    /// \param delta time since last update.
+    protected abstract void steer(float delta);
+
     /// Add the enemy to a cell in the grid.
     /// \param cell the cell in the grid to add the enemy to.
     protected void addToCell(Cell cell) {
@@ -59,4 +105,13 @@ public abstract class Enemy extends GridObject {
 
     }
 
+    /// Pass a collision with this enemy to another object.
+    /// \param receiver the object to notify of the collision.
+    /// \param commands buffer for effects on objects other than the receiver.
+    protected void sendCollision(GridObject receiver, CollisionCommands commands) {
+
+        receiver.handleCollision(this, commands);
+
+    }
+
 }
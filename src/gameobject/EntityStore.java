@@ -0,0 +1,231 @@
+package gameobject;
+
+import grid.Grid;
+
+/// Dense struct-of-arrays storage for the state that systems iterate over
+/// every tick: position, velocity, rotation, collision radius, a type tag
+/// (the object's collision layer) and flags. GridObjects are views onto one
+/// index of the store. Removal swaps the last entity into the freed index so
+/// the arrays stay packed, and the movement and grid systems run as tight
+/// loops over the arrays, only calling back into an object when it crosses
+/// into a different cell.
+public class EntityStore {
+
+    /// Flag set once the entity has been destroyed.
+    static final int DESTROYED = 1;
+
+    /// Flag set while a collision command to destroy the entity is pending.
+    static final int DOOMED = 2;
+
+    /// Flag set until the entity's transformation is first saved at the start
+    /// of a tick, so it is not interpolated from before it existed.
+    static final int FRESH = 4;
+
+    /// Number of entities the arrays can hold before growing.
+    private static final int INITIAL_CAPACITY = 256;
+
+    /// Grid used to find the cell of each entity.
+    private final Grid mGrid;
+
+    /// Number of entities in the store.
+    private int mSize;
+
+    // Entity state, indexed by store index.
+    float[] mX;
+    float[] mY;
+    float[] mXVelocity;
+    float[] mYVelocity;
+    float[] mRotation;
+    float[] mPreviousX;
+    float[] mPreviousY;
+    float[] mPreviousRotation;
+    float[] mRadius;
+    int[] mType;
+    int[] mFlags;
+    int[] mCell;
+    GridObject[] mOwners;
+
+    /// Initialise an empty store.
+    /// \param grid grid used to find the cell of each entity.
+    public EntityStore(Grid grid) {
+
+        mGrid = grid;
+        mSize = 0;
+        allocate(INITIAL_CAPACITY);
+
+    }
+
+    /// Get the number of entities in the store.
+    public int size() {
+
+        return mSize;
+
+    }
+
+    /// Move every live entity by its velocity.
+    /// \param delta time since the last update.
+    public void integrate(float delta) {
+
+        float[] x = mX;
+        float[] y = mY;
+        float[] xVelocity = mXVelocity;
+        float[] yVelocity = mYVelocity;
+        int[] flags = mFlags;
+        for (int i = 0; i < mSize; ++i) {
+
+            if ((flags[i] & DESTROYED) == 0) {
+
+                x[i] += xVelocity[i] * delta;
+                y[i] += yVelocity[i] * delta;
+
+            }
+
+        }
+
+    }
+
+    /// Save the position and rotation of every entity at the start of a tick
+    /// so rendering can interpolate from them.
+    public void savePrevious() {
+
+        System.arraycopy(mX, 0, mPreviousX, 0, mSize);
+        System.arraycopy(mY, 0, mPreviousY, 0, mSize);
+        System.arraycopy(mRotation, 0, mPreviousRotation, 0, mSize);
+        int[] flags = mFlags;
+        for (int i = 0; i < mSize; ++i) {
+
+            flags[i] &= ~FRESH;
+
+        }
+
+    }
+
+    /// Update the grid cell of every live entity, notifying only the entities
+    /// that have moved into a different cell (or out of the grid).
+    public void updateCells() {
+
+        for (int i = 0; i < mSize; ++i) {
+
+            if ((mFlags[i] & DESTROYED) == 0) {
+
+                int cell = mGrid.getCellId(mX[i], mY[i]);
+                if (cell != mCell[i]) {
+
+                    mOwners[i].changeCell(cell);
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /// Add an entity to the store.
+    /// \param owner object the entity is a view of.
+    /// \param type type tag of the entity.
+    /// \return the store index of the entity.
+    int add(GridObject owner, int type) {
+
+        if (mSize == mX.length) {
+
+            allocate(mSize * 2);
+
+        }
+        int index = mSize++;
+        mX[index] = 0f;
+        mY[index] = 0f;
+        mXVelocity[index] = 0f;
+        mYVelocity[index] = 0f;
+        mRotation[index] = 0f;
+        mRadius[index] = 0f;
+        mType[index] = type;
+        mFlags[index] = FRESH;
+        mCell[index] = -1;
+        mOwners[index] = owner;
+        return index;
+
+    }
+
+    /// Remove an entity, moving the last entity into its index.
+    /// \param index store index of the entity to remove.
+    void remove(int index) {
+
+        assert index >= 0 && index < mSize;
+        int last = --mSize;
+        if (index != last) {
+
+            mX[index] = mX[last];
+            mY[index] = mY[last];
+            mXVelocity[index] = mXVelocity[last];
+            mYVelocity[index] = mYVelocity[last];
+            mRotation[index] = mRotation[last];
+            mPreviousX[index] = mPreviousX[last];
+            mPreviousY[index] = mPreviousY[last];
+            mPreviousRotation[index] = mPreviousRotation[last];
+            mRadius[index] = mRadius[last];
+            mType[index] = mType[last];
+            mFlags[index] = mFlags[last];
+            mCell[index] = mCell[last];
+            mOwners[index] = mOwners[last];
+            mOwners[index].setStoreIndex(index);
+
+        }
+        mOwners[last] = null;
+
+    }
+
+    /// Grow the arrays, keeping existing entities.
+    /// \param capacity the new capacity.
+    private void allocate(int capacity) {
+
+        mX = grow(mX, capacity);
+        mY = grow(mY, capacity);
+        mXVelocity = grow(mXVelocity, capacity);
+        mYVelocity = grow(mYVelocity, capacity);
+        mRotation = grow(mRotation, capacity);
+        mPreviousX = grow(mPreviousX, capacity);
+        mPreviousY = grow(mPreviousY, capacity);
+        mPreviousRotation = grow(mPreviousRotation, capacity);
+        mRadius = grow(mRadius, capacity);
+        mType = grow(mType, capacity);
+        mFlags = grow(mFlags, capacity);
+        mCell = grow(mCell, capacity);
+
+        GridObject[] owners = new GridObject[capacity];
+        if (mOwners != null) {
+
+            System.arraycopy(mOwners, 0, owners, 0, mSize);
+
+        }
+        mOwners = owners;
+
+    }
+
+    /// Copy an array into a new array of a different capacity.
+    private float[] grow(float[] array, int capacity) {
+
+        float[] result = new float[capacity];
+        if (array != null) {
+
+            System.arraycopy(array, 0, result, 0, mSize);
+
+        }
+        return result;
+
+    }
+
+    /// Copy an array into a new array of a different capacity.
+    private int[] grow(int[] array, int capacity) {
+
+        int[] result = new int[capacity];
+        if (array != null) {
+
+            System.arraycopy(array, 0, result, 0, mSize);
+
+        }
+        return result;
+
+    }
+
+}
@@ -1,10 +1,10 @@
 package gameobject;
 
-import java.util.ArrayList;
 import processing.core.PVector;
 import grid.Grid;
-import grid.Coordinates;
+import grid.Path;
 import texture.Texture;
+import transform.Vec2;
 import random.Randomiser;
 import scene.EnemyManager;
 import config.Config;
@@ -24,21 +24,24 @@ public class Flocker extends PathEnemy {
     /// Enemies to flock around.
     private EnemyManager mEnemies;
 
-    /// Enemy the flocker is currently pursuing to flock around.
+    /// Enemy the flocker is currently pursuing to flock around, and the
+    /// generation it had when chosen so a reused enemy is not mistaken for it.
     private Enemy mTargetEnemy;
+    private int mTargetGeneration;
 
     /// Grid cells making up the path to the target enemy.
-    private ArrayList<Coordinates> mPath;
+    private final Path mPath;
 
     /// Whether the flocker is currently seeking for an enemy to flock around.
     private boolean mSeeking;
 
     /// Initialise the flocker.
-    public Flocker(Texture texture, Grid grid, EnemyManager enemies) {
+    public Flocker(Texture texture, Grid grid, EntityStore entities, EnemyManager enemies) {
 
         // Move config usage to scene??
         super(texture, 
               grid, 
+              entities,
               ID, 
               SCORE_VALUE, 
               PATH_INTERVAL, 
@@ -47,22 +50,33 @@ public class Flocker extends PathEnemy {
               ROTATE_RATE);
         mEnemies = enemies;
         mTargetEnemy = null;
-        mPath = null;
+        mTargetGeneration = 0;
+        mPath = new Path();
+        mSeeking = true;
+
+    }
+
+    /// Reset a released flocker so it can be spawned again.
+    public void reset() {
+
+        super.reset();
+        mTargetEnemy = null;
+        mPath.clear();
         mSeeking = true;
 
     }
 
     /// Update the flocker's target.
-    protected PVector updateTarget() {
+    protected boolean updateTarget(Vec2 target) {
 
         // If there is no target enemy or it has been destroyed, there is no target 
         // for the flocker.
-        if (mTargetEnemy == null || mTargetEnemy.isDestroyed()) {
+        if (!hasTarget()) {
 
             mTargetEnemy = null;
-            mPath = null;
+            mPath.clear();
             mSeeking = true;
-            return null;
+            return false;
 
         }
 
@@ -70,33 +84,35 @@ public class Flocker extends PathEnemy {
         if (mSeeking) {
 
             // Remove the next path cell if it has been reached.
-            if (mPath != null && !mPath.isEmpty() && mCoords.equals(mPath.get(0)) ) {
+            if (!mPath.isEmpty() && mCellId == mPath.peek()) {
 
-                mPath.remove(0);
+                mPath.advance();
 
             }
 
             // Cease seeking if reached enemy position.
-            if (mCoords.equals(mTargetEnemy.getCoords())) {
+            if (mCellId == mTargetEnemy.getCellId()) {
 
                 mSeeking = false;
 
             // If no paths in cell to choose from there is no target.
-            } else if (mPath == null || mPath.isEmpty()) {
+            } else if (mPath.isEmpty()) {
 
-                return null; 
+                return false; 
 
             // Otherwise move towards the next cell in the path.
             } else {
 
-                return mGrid.getTranslation(mPath.get(0));
+                mGrid.getCentre(mPath.peek(), target);
+                return true;
 
             }
 
         }
 
         // If not seeking move towards target enemy to flock around it.
-        return mTargetEnemy.getTranslation();
+        mTargetEnemy.getTranslation(target);
+        return true;
 
     }
 
@@ -104,25 +120,28 @@ public class Flocker extends PathEnemy {
     protected void updatePath() {
 
         /// Choose a new target enemy if there is currently one or it has been destroyed.
-        if (mTargetEnemy == null || mTargetEnemy.isDestroyed()) {
+        if (!hasTarget()) {
 
             mTargetEnemy = getRandomEnemy();
-            mPath = null;
+            if (mTargetEnemy != null) {
+
+                mTargetGeneration = mTargetEnemy.getGeneration();
+
+            }
+            mPath.clear();
             mSeeking = true;
 
         }
 
         /// If there is a target enemy and the flocker is seeking, update the path
         /// to that enemy.
-        if (mTargetEnemy != null && 
-            !mTargetEnemy.isDestroyed() && 
-            mSeeking) {
+        if (hasTarget() && mSeeking) {
 
-            Coordinates targetCoords = mTargetEnemy.getCoords();
+            int targetCell = mTargetEnemy.getCellId();
 
-            if (targetCoords != null) {
+            if (targetCell != -1) {
 
-                mPath = mGrid.getShortestPath(mCoords, mTargetEnemy.getCoords());
+                mGrid.getShortestPath(mCellId, targetCell, mPath);
 
             }
 
@@ -130,6 +149,17 @@ public class Flocker extends PathEnemy {
 
     }
 
+    /// Check whether the target enemy is still the spawn that was chosen and
+    /// has not been destroyed.
+    /// \return whether the flocker has a target to pursue.
+    private boolean hasTarget() {
+
+        return mTargetEnemy != null &&
+               !mTargetEnemy.isDestroyed() &&
+               mTargetEnemy.getGeneration() == mTargetGeneration;
+
+    }
+
     /// Choose a random enemy from the target manage if possible.
     /// \return the chosen enemy or null if no enemy was chosen.
     private Enemy getRandomEnemy() {
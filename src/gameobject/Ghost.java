@@ -15,26 +15,29 @@ public class Ghost extends Enemy {
     private static final int SCORE_VALUE = 25;
     private static final float SPEED = 300f;
 
+    /// Ghosts ignore collisions.
+    static final int COLLISION_MASK = 0;
+
     /// Initialise ghost.
-    public Ghost(Texture texture, Grid grid) {
+    public Ghost(Texture texture, Grid grid, EntityStore entities) {
 
         super(texture, 
               grid, 
+              entities,
               ID,
               SCORE_VALUE);
 
-        mCanCollide = false;
+        mCollisionMask = COLLISION_MASK;
 
     }
 
     
-    /// Update the ghost by moving it in the direction it is facing.
-    /// \param time passed since the last update.
-    public void updateCurrent(float delta) {
+    /// Steer the ghost by moving it in the direction it is facing.
+    /// \param delta time passed since the last update.
+    protected void steer(float delta) {
 
-        PVector velocity = new PVector(0f, -SPEED * delta);
-        velocity.rotate(getRadianRotation());
-        translate(velocity);
+        // Velocity (0, -speed) rotated to face the ghost's direction.
+        setVelocity(SPEED * getRotationSin(), -SPEED * getRotationCos());
 
     }
 
@@ -1,7 +1,5 @@
 package gameobject;
 
-import java.util.Iterator;
-import java.util.ArrayList;
 import processing.core.PVector;
 import texture.Texture;
 import grid.Grid;
@@ -9,46 +7,212 @@ import grid.Coordinates;
 import grid.Cell;
 import config.Config;
 
-/// An object that uses the grid spatial partition.
+/// An object that uses the grid spatial partition. Its translation, rotation,
+/// velocity and collision radius live in the grid's entity store, where the
+/// movement, grid and collision systems read them.
 public abstract class GridObject extends CollidableObject {
 
+    // Collision layers, each object occupies one.
+    public static final int SHIP_LAYER = 0;
+    public static final int LASER_LAYER = 1;
+    public static final int ASTEROID_LAYER = 2;
+    public static final int POWERUP_LAYER = 3;
+    public static final int ENEMY_LAYER = 4;
+    public static final int LAYER_COUNT = 5;
+
     /// Whether the object has been destroyed.
     private boolean mDestroyed;
 
+    /// Number of times the object has been reset for reuse, so references
+    /// held across a release can tell the object has been respawned.
+    private int mGeneration;
+
     /// Grid that the object is in.
     protected final Grid mGrid;
 
-    /// Current coordinates is the grid (null coordinates means the object
+    /// Packed id of the current cell in the grid (-1 means the object
     /// is not currently in the grid).
-    protected Coordinates mCoords;
+    protected int mCellId;
+
+    /// Slot the object occupies in its current cell's list (-1 if none).
+    private int mCellSlot;
+
+    /// Collision layer the object occupies.
+    protected final int mLayer;
+
+    /// Mask of the layers whose objects this object handles collisions with
+    /// (an empty mask means the object does not check for collisions).
+    protected int mCollisionMask;
 
-    /// Whether or not the grid object should check for collisions.
-    protected boolean mCanCollide;
+    /// Whether the object blocks path finding through its cell.
+    protected boolean mObstacle;
+
+    /// Store holding the object's per tick state.
+    private final EntityStore mStore;
+
+    /// Index of the object in the store (-1 once removed).
+    private int mStoreIndex;
+
+    /// Time and number of ticks passed since the object was last updated
+    /// when it is updated at a reduced rate.
+    private float mSkippedDelta;
+    private int mSkippedTicks;
 
     /// initialise grid object.
-    public GridObject(Texture texture, Grid grid) {
+    /// \param texture texture to display the object with.
+    /// \param grid grid to place the object in.
+    /// \param entities store to keep the object's per tick state in.
+    /// \param layer collision layer the object occupies.
+    public GridObject(Texture texture, Grid grid, EntityStore entities, int layer) {
 
         super(texture);
         mDestroyed = false;
+        mGeneration = 0;
         mGrid = grid;
 
-        // Initialise with null coordinates, initialise on first update.
-        mCoords = null;
-
-        mCanCollide = true;
-
+        // Initialise outside the grid, initialise on first update.
+        mCellId = -1;
+        mCellSlot = -1;
+
+        mLayer = layer;
+        mCollisionMask = 0;
+        mObstacle = false;
+
+        // Move the transformation set up so far into the store.
+        float x = getLocalXTranslation();
+        float y = getLocalYTranslation();
+        float rotation = getLocalRotation();
+        mStore = entities;
+        mStoreIndex = mStore.add(this, layer);
+        mSkippedDelta = 0f;
+        mSkippedTicks = 0;
+        setLocalTranslation(x, y);
+        setLocalRotation(rotation);
+        mStore.mRadius[mStoreIndex] = getRadius();
 
     }
 
     /// Get the coordinates of the object in the grid.
     public Coordinates getCoords() {
 
-        if (mCoords == null) {
+        if (mCellId == -1) {
 
             return null;
 
         }
-        return mCoords.copy();
+        return mGrid.getCoords(mCellId);
+
+    }
+
+    /// Get the packed id of the object's cell in the grid.
+    /// \return the packed cell id or -1 if the object is not in the grid.
+    public int getCellId() {
+
+        return mCellId;
+
+    }
+
+    /// Get the slot the object occupies in its current cell's list.
+    /// \return the slot index or -1 if the object is not in a cell list.
+    public int getCellSlot() {
+
+        return mCellSlot;
+
+    }
+
+    /// Set the slot the object occupies in its current cell's list.
+    /// Only to be used by the cell list holding the object.
+    /// \param slot the new slot index.
+    public void setCellSlot(int slot) {
+
+        mCellSlot = slot;
+
+    }
+
+    /// Get the index of the object in the entity store.
+    /// \return the store index or -1 if the object has been removed.
+    public int getStoreIndex() {
+
+        return mStoreIndex;
+
+    }
+
+    /// Get the object's velocity on the x axis.
+    public float getXVelocity() {
+
+        return inStore() ? mStore.mXVelocity[mStoreIndex] : 0f;
+
+    }
+
+    /// Get the object's velocity on the y axis.
+    public float getYVelocity() {
+
+        return inStore() ? mStore.mYVelocity[mStoreIndex] : 0f;
+
+    }
+
+    /// Get the object's speed.
+    public float getSpeed() {
+
+        float x = getXVelocity();
+        float y = getYVelocity();
+        return (float)Math.sqrt(x * x + y * y);
+
+    }
+
+    /// Set the object's velocity, which the store moves it by each update.
+    /// \param x x component of the new velocity.
+    /// \param y y component of the new velocity.
+    public void setVelocity(float x, float y) {
+
+        if (inStore()) {
+
+            mStore.mXVelocity[mStoreIndex] = x;
+            mStore.mYVelocity[mStoreIndex] = y;
+
+        }
+
+    }
+
+    /// Add to the object's velocity.
+    /// \param x x component to add.
+    /// \param y y component to add.
+    public void accelerate(float x, float y) {
+
+        setVelocity(getXVelocity() + x, getYVelocity() + y);
+
+    }
+
+    /// Limit the object's speed.
+    /// \param max the maximum speed.
+    public void limitSpeed(float max) {
+
+        float x = getXVelocity();
+        float y = getYVelocity();
+        float speedSq = x * x + y * y;
+        if (speedSq > max * max) {
+
+            float scale = max / (float)Math.sqrt(speedSq);
+            setVelocity(x * scale, y * scale);
+
+        }
+
+    }
+
+    /// Get the bit for a collision layer in layer masks.
+    /// \param layer the collision layer.
+    /// \return mask with only the layer's bit set.
+    public static int layerBit(int layer) {
+
+        return 1 << layer;
+
+    }
+
+    /// Set the layers the object handles collisions with.
+    /// \param mask mask of layer bits (0 to stop checking for collisions).
+    public void setCollisionMask(int mask) {
+
+        mCollisionMask = mask;
 
     }
 
@@ -56,6 +220,11 @@ public abstract class GridObject extends CollidableObject {
     public void destroy() {
 
         mDestroyed = true;
+        if (inStore()) {
+
+            mStore.mFlags[mStoreIndex] |= EntityStore.DESTROYED;
+
+        }
 
     }
 
@@ -66,39 +235,104 @@ public abstract class GridObject extends CollidableObject {
 
     }
 
-    /// Remove the object from the grid.
-    public void removeFromGrid() {
+    /// Get the number of times the object has been reset for reuse. An object
+    /// held with the generation it had at the time is the same spawn only
+    /// while its generation is unchanged.
+    /// \return the object's current generation.
+    public int getGeneration() {
+
+        return mGeneration;
+
+    }
+
+    /// Remove a destroyed object from the grid and the entity store. The
+    /// object may then be pooled and later reused after a reset.
+    public void release() {
 
         // Remove from grid on destruction.
-        if (mDestroyed  && mCoords != null) {
+        if (mDestroyed  && mCellId != -1) {
+
+            removeFromCell(mGrid.getCell(mCellId));
+            mCellId = -1;
+            if (mObstacle) {
 
-            removeFromCell(mGrid.getCell(mCoords));
+                mGrid.markObstaclesChanged();
+
+            }
+
+        }
+
+        // Keep the final transformation once no longer backed by the store.
+        if (mDestroyed && inStore()) {
+
+            float x = getLocalXTranslation();
+            float y = getLocalYTranslation();
+            float rotation = getLocalRotation();
+            mStore.remove(mStoreIndex);
+            mStoreIndex = -1;
+            setLocalTranslation(x, y);
+            setLocalRotation(rotation);
 
         }
 
     }
 
-    
-    public void update(float delta) {
+    /// Return a released object to the state of a newly constructed one so it
+    /// can be reused. Subclasses reset their own state in addition. Resetting
+    /// an object that was never released has no effect on its grid state.
+    public void reset() {
 
-        // Initialise grid position on first update.
-        if (!mDestroyed && mCoords == null) {
+        assert !mDestroyed || !inStore();
+        mDestroyed = false;
+        ++mGeneration;
+        mSkippedDelta = 0f;
+        mSkippedTicks = 0;
+        if (!inStore()) {
 
-            updateGrid();
+            mCellId = -1;
+            mCellSlot = -1;
+            mStoreIndex = mStore.add(this, mLayer);
+            mStore.mRadius[mStoreIndex] = getRadius();
 
         }
+
+        // Do not interpolate from where the object was before it was reset.
+        mStore.mFlags[mStoreIndex] |= EntityStore.FRESH;
+
+    }
+
+    /// Update the object's behaviour. Movement, grid cells and collisions are
+    /// handled afterwards for every object at once by the entity store and
+    /// collision phase.
+    /// \param delta time since last update.
+    public void update(float delta) {
+
         // Do not update if destroyed.
         if (!mDestroyed) {
 
             updateCurrent(delta);
-            updateGrid();
-            if (mCanCollide) {
 
-                handleCollisions();
+        }
 
-            }
+    }
+
+    /// Accumulate time for an object updated once every few ticks.
+    /// \param delta time since last tick.
+    /// \param interval number of ticks between updates (1 to update every tick).
+    /// \return the time since the object was last updated if it should update
+    /// this tick, otherwise 0.
+    public float accumulate(float delta, int interval) {
+
+        mSkippedDelta += delta;
+        if (++mSkippedTicks < interval) {
+
+            return 0f;
 
         }
+        float accumulated = mSkippedDelta;
+        mSkippedDelta = 0f;
+        mSkippedTicks = 0;
+        return accumulated;
 
     }
 
@@ -114,153 +348,185 @@ public abstract class GridObject extends CollidableObject {
     /// cell cell to remove object from.
     protected abstract void removeFromCell(Cell cell);
 
-    // Collision subclasses may choose to implement for
-    // each type of collidable object in the grid.
-    protected void handleCollision(Ship ship) {}
-    protected void handleCollision(Laser laser) {}
-    protected void handleCollision(Asteroid asteroid) {}
-    protected void handleCollision(PowerUp powerUp) {}
-    protected void handleCollision(Enemy enemy) {}
-
-    /// Update the grid with the object's current position.
-    private void updateGrid() {
+    /// Pass a collision with this object to the other object's handleCollision
+    /// overload for this object's type.
+    /// \param receiver the object to notify of the collision.
+    /// \param commands buffer for effects on objects other than the receiver.
+    protected abstract void sendCollision(GridObject receiver, CollisionCommands commands);
 
-        Coordinates newCoords = mGrid.getCoords(getTranslation());
+    // Collision subclasses may choose to implement for
+    // each type of collidable object in the grid. Handlers may change their
+    // own object but must record effects on anything else in commands.
+    protected void handleCollision(Ship ship, CollisionCommands commands) {}
+    protected void handleCollision(Laser laser, CollisionCommands commands) {}
+    protected void handleCollision(Asteroid asteroid, CollisionCommands commands) {}
+    protected void handleCollision(PowerUp powerUp, CollisionCommands commands) {}
+    protected void handleCollision(Enemy enemy, CollisionCommands commands) {}
+
+    /// Move the object to a different cell after the store finds it has
+    /// crossed into one, destroying it if it has left the grid.
+    /// \param newCellId packed id of the new cell or -1 if out of bounds.
+    void changeCell(int newCellId) {
 
         // Destroy if out of bounds.
-        if (newCoords == null) {
+        if (newCellId == -1) {
 
             destroy();
 
         }
 
         // Update cells.
-        if (newCoords != mCoords) {
-            
-            if (mCoords != null) {
+        if (mCellId != -1) {
 
-                removeFromCell(mGrid.getCell(mCoords));
+            removeFromCell(mGrid.getCell(mCellId));
 
-            }
-            if (newCoords != null) {
+        }
+        if (newCellId != -1) {
 
-                addToCell(mGrid.getCell(newCoords));
+            addToCell(mGrid.getCell(newCellId));
 
-            }
-            mCoords = newCoords;
+        }
+        if (mObstacle) {
+
+            mGrid.markObstaclesChanged();
 
         }
+        mGrid.recordCrossing();
+        mCellId = newCellId;
+        mStore.mCell[mStoreIndex] = newCellId;
 
     }
 
-    /// Handle any collisions with nearby objects.
-    private void handleCollisions() {
+    /// Move the object into the cell at its current position straight away,
+    /// rather than waiting for the entity store to next update cells.
+    public void updateCell() {
 
-        if (mCoords != null) {
+        int cellId = mGrid.getCellId(getLocalXTranslation(), getLocalYTranslation());
+        if (cellId != mCellId) {
 
-            Cell current = mGrid.getCell(mCoords);
-            handleCollisions(current);
+            changeCell(cellId);
 
-            ArrayList<Cell> neighbours = mGrid.getNeighbourCells(mCoords);
-            Iterator<Cell> it = neighbours.iterator();
-            while (it.hasNext() && !isDestroyed()) {
-            
-                Cell cell = it.next();
-                handleCollisions(cell);
+        }
 
-            }
+    }
 
-        }
+    /// Update the index of the object after the store has moved it.
+    /// \param index the new store index.
+    void setStoreIndex(int index) {
+
+        mStoreIndex = index;
 
     }
 
+    protected void setClip(int clip) {
 
-    /// Handle collision with objects in a specific cell.
-    /// \param cell cell to handle collisions with.
-    private void handleCollisions(Cell cell) {
+        super.setClip(clip);
+        updateStoredRadius();
 
-        if (cell.ship != null && collides(cell.ship)) {
+    }
 
-            handleCollision(cell.ship);
+    protected void onScaleChanged() {
 
-        }
-        handleLasers(cell.lasers);
-        handleAsteroids(cell.asteroids);
-        handleEnemies(cell.enemies);
-        handlePowerUps(cell.powerUps);
+        super.onScaleChanged();
+        updateStoredRadius();
 
     }
 
-    /// Handle collision with all lasers in a list.
-    /// \param lasers list of lasers to check collision with.
-    private void handleLasers(ArrayList<Laser> lasers) {
+    protected float getLocalXTranslation() {
 
-        Iterator<Laser> it = lasers.iterator();
-        while (it.hasNext() && !isDestroyed()) {
-        
-            Laser laser = it.next();
-            if (collides(laser)) {
+        return inStore() ? mStore.mX[mStoreIndex] : super.getLocalXTranslation();
 
-                handleCollision(laser);
+    }
 
-            }
+    protected float getLocalYTranslation() {
 
-        }
+        return inStore() ? mStore.mY[mStoreIndex] : super.getLocalYTranslation();
 
     }
 
-    /// Handle collision with all asteroids in a list.
-    /// \param asteroids list of asteroids to check collision with.
-    private void handleAsteroids(ArrayList<Asteroid> asteroids) {
+    protected void setLocalTranslation(float x, float y) {
 
-        Iterator<Asteroid> it = asteroids.iterator();
-        while (it.hasNext() && !isDestroyed()) {
-        
-            Asteroid asteroid = it.next();
-            if (collides(asteroid)) {
+        if (inStore()) {
 
-                handleCollision(asteroid);
+            mStore.mX[mStoreIndex] = x;
+            mStore.mY[mStoreIndex] = y;
 
-            }
+        } else {
+
+            super.setLocalTranslation(x, y);
 
         }
 
     }
 
-    /// Handle collision with all power-ups in a list.
-    /// \param power-ups list of power-ups to check collision with.
-    private void handlePowerUps(ArrayList<PowerUp> powerUps) {
+    protected float getLocalRotation() {
 
-        Iterator<PowerUp> it = powerUps.iterator();
-        while (it.hasNext() && !isDestroyed()) {
-        
-            PowerUp powerUp = it.next();
-            if (collides(powerUp)) {
+        return inStore() ? mStore.mRotation[mStoreIndex] : super.getLocalRotation();
 
-                handleCollision(powerUp);
+    }
 
-            }
+    protected void setLocalRotation(float angle) {
+
+        if (inStore()) {
+
+            mStore.mRotation[mStoreIndex] = angle;
+
+        } else {
+
+            super.setLocalRotation(angle);
 
         }
 
     }
 
-    /// Handle collision with all enemies in a list.
-    /// \param enemies list of enemies to check collision with.
-    private void handleEnemies(ArrayList<Enemy> enemies) {
+    /// Get the x translation saved in the store at the start of the tick.
+    protected float getPreviousXTranslation() {
+
+        return hasStoredPrevious() ? mStore.mPreviousX[mStoreIndex] : getLocalXTranslation();
 
-        Iterator<Enemy> it = enemies.iterator();
-        while (it.hasNext() && !isDestroyed()) {
-        
-            Enemy enemy = it.next();
-            if (collides(enemy)) {
+    }
 
-                handleCollision(enemy);
+    /// Get the y translation saved in the store at the start of the tick.
+    protected float getPreviousYTranslation() {
 
-            }
+        return hasStoredPrevious() ? mStore.mPreviousY[mStoreIndex] : getLocalYTranslation();
+
+    }
+
+    /// Get the rotation saved in the store at the start of the tick.
+    protected float getPreviousRotation() {
+
+        return hasStoredPrevious() ? mStore.mPreviousRotation[mStoreIndex] : getLocalRotation();
+
+    }
+
+    /// Check whether the store holds a transformation saved at the start of
+    /// the tick for the object (it does not until a tick has started since
+    /// the object was added).
+    private boolean hasStoredPrevious() {
+
+        return inStore() && (mStore.mFlags[mStoreIndex] & EntityStore.FRESH) == 0;
+
+    }
+
+    /// Copy the collision radius into the store after it changes.
+    private void updateStoredRadius() {
+
+        if (inStore()) {
+
+            mStore.mRadius[mStoreIndex] = getRadius();
 
         }
 
     }
 
+    /// Check whether the object's state currently lives in the store (it
+    /// does not while the superclasses are being constructed or once the
+    /// object has been removed).
+    private boolean inStore() {
+
+        return mStore != null && mStoreIndex >= 0;
+
+    }
+
 }
@@ -6,57 +6,68 @@ import processing.core.PVector;
 import grid.Grid;
 import grid.Cell;
 import texture.Texture;
+import math.FastMath;
 
 
 /// Laser that shoots down enemies.
 public abstract class Laser extends GridObject {
 
-    /// Score accumulated by this laser.
-    private int mScore;
+    /// Lasers hit asteroids and enemies.
+    static final int COLLISION_MASK = layerBit(ASTEROID_LAYER) | layerBit(ENEMY_LAYER);
 
-    /// This laser's current velocity.
-    protected PVector mVelocity;
+    /// ID of the laser type.
+    private final int mId;
 
     /// Initialise the laser.
-    public Laser(Texture texture, Grid grid, int id, PVector velocity) {
+    public Laser(Texture texture, Grid grid, EntityStore entities, int id) {
 
-        super(texture, grid);
-        mScore = 0;
-        mVelocity = velocity.copy();
+        super(texture, grid, entities, LASER_LAYER);
+        mCollisionMask = COLLISION_MASK;
+        mId = id;
         setClip(id);
 
     }
 
-    /// Get the score accumulated by the laser.
-    /// \return the score accumulated by the laser.
-    public int consumeScore() {
+    /// Reset a released laser so it can be fired again.
+    /// \param xVelocity x component of the laser's velocity.
+    /// \param yVelocity y component of the laser's velocity.
+    /// \param x x component of the laser's initial position.
+    /// \param y y component of the laser's initial position.
+    public void reset(float xVelocity, float yVelocity, float x, float y) {
 
-        int score = mScore;
-        mScore = 0;
-        return score;
+        reset();
+        setVelocity(xVelocity, yVelocity);
+        setTranslation(x, y);
 
     }
 
-    /// Update the laser.
-    /// \param delta the time since the last update.
-    protected void updateCurrent(float delta) {
+    /// Get the ID of this laser's type.
+    public int getId() {
 
-        // Get rotation direction of velocity.
-        float rotation = (float)Math.atan(mVelocity.y / mVelocity.x) * (180f / (float)Math.PI);
+        return mId;
 
-        // Orientate rotation to match laser.
-        if (mVelocity.x >= 0f) {
+    }
 
-            rotation += 90f;
+    /// Set the laser's velocity, rotating it to face along the velocity.
+    /// \param x x component of the new velocity.
+    /// \param y y component of the new velocity.
+    public void setVelocity(float x, float y) {
 
-        } else {
+        super.setVelocity(x, y);
+        updateHeading();
 
-            rotation += 270f;
+    }
 
-        }
-        setRotation(rotation);
+    /// Update the laser.
+    /// \param delta the time since the last update.
+    /// Lasers only move in a straight line, which the entity store handles.
+    protected void updateCurrent(float delta) {}
 
-        translate(PVector.mult(mVelocity, delta));
+    /// Rotate the laser to face along its velocity. Called whenever the
+    /// velocity changes rather than every update.
+    private void updateHeading() {
+
+        setRotation(FastMath.heading(getXVelocity(), getYVelocity()));
 
     }
 
@@ -77,12 +88,22 @@ public abstract class Laser extends GridObject {
 
     }
 
+    /// Pass a collision with this laser to another object.
+    /// \param receiver the object to notify of the collision.
+    /// \param commands buffer for effects on objects other than the receiver.
+    protected void sendCollision(GridObject receiver, CollisionCommands commands) {
+
+        receiver.handleCollision(this, commands);
+
+    }
+
     /// Allow subclasses to carry out additional actions on collision.
     protected abstract void onCollision(CollidableObject collidable);
 
     /// Handle collision with an asteroid based on laser type.
     /// \param asteroid asteroid that was collided with.
-    protected void handleCollision(Asteroid asteroid) {
+    /// \param commands buffer for effects on the asteroid.
+    protected void handleCollision(Asteroid asteroid, CollisionCommands commands) {
 
         onCollision(asteroid);
 
@@ -90,11 +111,12 @@ public abstract class Laser extends GridObject {
 
     /// Handle collision with an enemy based on laser type.
     /// \param enemy enemy that was collided with.
-    protected void handleCollision(Enemy enemy) {
+    /// \param commands buffer to record the score and the enemy's destruction in.
+    protected void handleCollision(Enemy enemy, CollisionCommands commands) {
 
-        mScore += enemy.getScoreValue();
+        commands.score(enemy.getScoreValue());
         onCollision(enemy);
-        enemy.destroy();
+        commands.destroy(enemy);
 
     }
 
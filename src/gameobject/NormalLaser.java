@@ -15,9 +15,9 @@ public class NormalLaser extends Laser {
     public static final int ID = 1;
 
     /// Initialise the laser.
-    public NormalLaser(Texture texture, Grid grid, PVector velocity) {
+    public NormalLaser(Texture texture, Grid grid, EntityStore entities) {
 
-        super(texture, grid, ID, velocity);
+        super(texture, grid, entities, ID);
 
     }
 
@@ -5,6 +5,8 @@ import grid.Grid;
 import grid.Coordinates;
 import grid.Cell;
 import texture.Texture;
+import transform.Vec2;
+import math.FastMath;
 import config.Config;
 
 /// Enemy that uses an pathing strategy to dictate its movement.
@@ -14,14 +16,17 @@ public abstract class PathEnemy extends Enemy {
     private static final float BOUNCE_MULTIPLIER = 0.6f;
     private static final float MIN_BOUNCE_SPEED = 45f;
 
+    /// Path enemies bounce off asteroids.
+    static final int COLLISION_MASK = layerBit(ASTEROID_LAYER);
+
     /// Interval that pathing is updated at.
     private final float mPathInterval;
 
     /// Time since last pathing update.
     private float mPathProgress;
 
-    /// Current velocity of enemy.
-    private PVector mVelocity;
+    /// Scratch vector for the direction of bounces.
+    private final Vec2 mBounce;
     
     /// Maximum speed the enemy can travel at.
     private final float mMaxSpeed;
@@ -33,11 +38,15 @@ public abstract class PathEnemy extends Enemy {
     private final float mRotateRate;
 
     /// Current target position enemy is moving towards.
-    private PVector mTarget;
+    private final Vec2 mTarget;
+
+    /// Whether the enemy currently has a target to move towards.
+    private boolean mHasTarget;
 
     /// Initialise enemy properties.
     public PathEnemy(Texture texture, 
                      Grid grid, 
+                     EntityStore entities,
                      int id,
                      int scoreValue,
                      float pathInterval,
@@ -45,7 +54,8 @@ public abstract class PathEnemy extends Enemy {
                      float acceleration,
                      float rotateRate) {
 
-        super(texture, grid, id, scoreValue);
+        super(texture, grid, entities, id, scoreValue);
+        mCollisionMask = COLLISION_MASK;
 
         assert pathInterval > 0f;
         assert maxSpeed > 0f;
@@ -55,21 +65,32 @@ public abstract class PathEnemy extends Enemy {
         mPathInterval = pathInterval;
         mPathProgress = 0f;
 
-        mVelocity = new PVector(0f, 0f);
+        mBounce = new Vec2();
         mMaxSpeed = maxSpeed;
         mAcceleration = acceleration;
 
         mRotateRate = rotateRate;
 
-        mTarget = null;
+        mTarget = new Vec2(0f, 0f);
+        mHasTarget = false;
+
+    }
+
+    /// Reset a released enemy so it can be spawned again.
+    public void reset() {
+
+        super.reset();
+        mPathProgress = 0f;
+        mHasTarget = false;
 
     }
 
     /// Bounce off collided asteroid.
     /// \param asteroid asteroid collided with.
-    protected void handleCollision(Asteroid asteroid) {
+    /// \param commands buffer for effects on the asteroid.
+    protected void handleCollision(Asteroid asteroid, CollisionCommands commands) {
 
-        float bounceSpeed = mVelocity.mag() * BOUNCE_MULTIPLIER;
+        float bounceSpeed = getSpeed() * BOUNCE_MULTIPLIER;
         if (bounceSpeed < MIN_BOUNCE_SPEED) {
             
             bounceSpeed = MIN_BOUNCE_SPEED;
@@ -77,22 +98,21 @@ public abstract class PathEnemy extends Enemy {
         }
 
         // Move outside asteroid.
-        PVector asteroidPos = asteroid.getTranslation();
-        PVector distance = PVector.sub(asteroidPos, getTranslation());
-
-        distance.normalize();
+        float asteroidX = asteroid.getXTranslation();
+        float asteroidY = asteroid.getYTranslation();
+        mBounce.set(asteroidX - getXTranslation(), asteroidY - getYTranslation()).normalize();
 
-        mVelocity = PVector.mult(distance, -bounceSpeed);
+        float separation = asteroid.getRadius() + getRadius();
+        setTranslation(asteroidX - mBounce.x * separation, asteroidY - mBounce.y * separation);
 
-        distance.mult(asteroid.getRadius() + getRadius());
-        setTranslation(asteroidPos.sub(distance));
+        setVelocity(-mBounce.x * bounceSpeed, -mBounce.y * bounceSpeed);
 
     }
 
-    /// Update the enemy.
-    protected void updateCurrent(float delta) {
+    /// Update path at regular interval.
+    /// \param delta time since last update.
+    protected void plan(float delta) {
 
-        // Update path at regular interval.
         mPathProgress -= delta;
         while (mPathProgress < 0f) {
 
@@ -101,31 +121,36 @@ public abstract class PathEnemy extends Enemy {
 
         }
 
-        // Get target, move forward and rotate towards target.
-        mTarget = updateTarget();
+    }
+
+    /// Steer the enemy towards its target.
+    /// \param delta time since last update.
+    protected void steer(float delta) {
+
+        // Get target, accelerate forward and rotate towards target (the entity
+        // store then moves the enemy).
+        mHasTarget = updateTarget(mTarget);
         updateVelocity(delta);
-        translate(PVector.mult(mVelocity, delta));
         updateRotation(delta);
 
     }
 
-    /// Get target position enemy should move towards.
-    protected abstract PVector updateTarget();
+    /// Get target position enemy should move towards. Called while steering
+    /// so shared state may only be read.
+    /// \param target vector to store the target position in.
+    /// \return whether there is a target to move towards.
+    protected abstract boolean updateTarget(Vec2 target);
 
-    /// Updates the enemy's current pathing.
+    /// Updates the enemy's current pathing. Called while planning.
     protected abstract void updatePath();
 
     /// Update velocity by accelerating in direction enemy is facing.
     private void updateVelocity(float delta) {
 
-        PVector acceleration = new PVector(0f, -mAcceleration * delta);
-        acceleration.rotate(getRadianRotation());
-        mVelocity.add(acceleration);
-        if (mVelocity.mag() > mMaxSpeed) {
-
-            mVelocity.setMag(mMaxSpeed);
-
-        }
+        // Forward acceleration (0, -acceleration) rotated to face the enemy's direction.
+        float speed = mAcceleration * delta;
+        accelerate(speed * getRotationSin(), -speed * getRotationCos());
+        limitSpeed(mMaxSpeed);
 
     }
 
@@ -135,21 +160,11 @@ public abstract class PathEnemy extends Enemy {
     private void updateRotation(float delta) {
 
         // Only update rotation if there is a target to rotate towards.
-        if (mTarget != null) {
-
-            PVector distance = PVector.sub(mTarget, getTranslation());
-            float targetRotation = (float)Math.atan(distance.y / distance.x) * (180f / (float)Math.PI);
-
-            // Orientate rotation to match enemy.
-            if (distance.x >= 0f) {
+        if (mHasTarget) {
 
-                targetRotation += 90f;
-
-            } else {
-
-                targetRotation += 270f;
-
-            }
+            float distanceX = mTarget.x - getXTranslation();
+            float distanceY = mTarget.y - getYTranslation();
+            float targetRotation = FastMath.heading(distanceX, distanceY);
 
             float rotation = getRotation();
             float rotateStep = mRotateRate * delta;
@@ -15,9 +15,9 @@ public class PenetrateLaser extends Laser {
     public static final int ID = 2;
 
     /// Initialise the laser.
-    public PenetrateLaser(Texture texture, Grid grid, PVector velocity) {
+    public PenetrateLaser(Texture texture, Grid grid, EntityStore entities) {
 
-        super(texture, grid, ID, velocity);
+        super(texture, grid, entities, ID);
 
     }
 
@@ -16,23 +16,35 @@ public class PowerUp extends GridObject {
     public static final int PENETRATE_ID = 3;
     public static final int REFLECT_ID = 4;
 
-    /// Id used by this power-up.
-    private final int mId;
+    /// Power-ups do not check for collisions (other objects instead check
+    /// if they collide with the power-up).
+    static final int COLLISION_MASK = 0;
 
-    /// Current velocity of power-up.
-    private final PVector mVelocity;
+    /// Id used by this power-up.
+    private int mId;
 
     /// Initialise power-up.
-    public PowerUp(Texture texture, Grid grid, int id, PVector velocity) {
+    public PowerUp(Texture texture, Grid grid, EntityStore entities, int id, PVector velocity) {
 
-        super(texture, grid);
-        mVelocity = velocity.copy();
+        super(texture, grid, entities, POWERUP_LAYER);
+        setVelocity(velocity.x, velocity.y);
         mId = id;
         setClip(mId);
 
-        // Don't need to check collisions for power-up (other
-        // objects instead check if the collide with the power-up).
-        mCanCollide = false;
+        mCollisionMask = COLLISION_MASK;
+
+    }
+
+    /// Reset a released power-up so it can be spawned again.
+    /// \param id the power-up ID to use.
+    /// \param xVelocity x component of the power-up's velocity.
+    /// \param yVelocity y component of the power-up's velocity.
+    public void reset(int id, float xVelocity, float yVelocity) {
+
+        reset();
+        mId = id;
+        setClip(mId);
+        setVelocity(xVelocity, yVelocity);
 
     }
 
@@ -43,13 +55,9 @@ public class PowerUp extends GridObject {
 
     }
 
-    /// Update the power-up by moving it.
+    /// Power-ups drift in a straight line, which the entity store handles.
     /// \param delta time since the last update.
-    protected void updateCurrent(float delta) {
-
-        translate(PVector.mult(mVelocity, delta));
-
-    }
+    protected void updateCurrent(float delta) {}
 
     /// Add the power-up to a cell in the grid.
     /// \param cell cell to add the power-up to in the grid.
@@ -67,4 +75,13 @@ public class PowerUp extends GridObject {
 
     }
 
+    /// Pass a collision with this power-up to another object.
+    /// \param receiver the object to notify of the collision.
+    /// \param commands buffer for effects on objects other than the receiver.
+    protected void sendCollision(GridObject receiver, CollisionCommands commands) {
+
+        receiver.handleCollision(this, commands);
+
+    }
+
 }
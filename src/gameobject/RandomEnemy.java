@@ -4,6 +4,7 @@ import processing.core.PVector;
 import grid.Grid;
 import grid.Coordinates;
 import texture.Texture;
+import transform.Vec2;
 import random.Randomiser;
 import config.Config;
 
@@ -20,13 +21,14 @@ public class RandomEnemy extends PathEnemy {
     private static final float ROTATE_RATE = 90f;
 
     /// Current target.
-    private PVector mTarget;
+    private final Vec2 mTarget;
 
     /// Initialise enemy.
-    public RandomEnemy(Texture texture, Grid grid) {
+    public RandomEnemy(Texture texture, Grid grid, EntityStore entities) {
 
         super(texture, 
               grid, 
+              entities,
               ID, 
               SCORE_VALUE, 
               PATH_INTERVAL, 
@@ -34,14 +36,15 @@ public class RandomEnemy extends PathEnemy {
               ACCELERATION,
               ROTATE_RATE);
 
-        PVector target = new PVector(0f, 0f);
+        mTarget = new Vec2(0f, 0f);
 
     }
 
     /// Get target position.
-    protected PVector updateTarget() {
+    protected boolean updateTarget(Vec2 target) {
 
-        return mTarget.copy();
+        target.set(mTarget);
+        return true;
 
     }
 
@@ -50,7 +53,7 @@ public class RandomEnemy extends PathEnemy {
 
         float x = Randomiser.randomFloat(0f, Config.AREA_WIDTH);
         float y = Randomiser.randomFloat(0f, Config.AREA_HEIGHT);
-        mTarget = new PVector(x, y);
+        mTarget.set(x, y);
 
     }
 
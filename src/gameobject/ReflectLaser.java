@@ -15,9 +15,9 @@ public class ReflectLaser extends Laser {
     public static final int ID = 3;
 
     /// Initialise the laser.
-    public ReflectLaser(Texture texture, Grid grid, PVector velocity) {
+    public ReflectLaser(Texture texture, Grid grid, EntityStore entities) {
 
-        super(texture, grid, ID, velocity);
+        super(texture, grid, entities, ID);
 
     }
 
@@ -25,12 +25,21 @@ public class ReflectLaser extends Laser {
     /// \param collidable object to reflect off.
     protected void onCollision(CollidableObject collidable) {
 
-        PVector collidePos = collidable.getTranslation();
-        PVector distance = PVector.sub(collidePos, getTranslation());
-        distance.normalize();
-        mVelocity = PVector.mult(distance, -mVelocity.mag());
-        distance.mult(collidable.getRadius() + getRadius());
-        setTranslation(collidePos.sub(distance));
+        float speed = getSpeed();
+        float collideX = collidable.getXTranslation();
+        float collideY = collidable.getYTranslation();
+        float distanceX = collideX - getXTranslation();
+        float distanceY = collideY - getYTranslation();
+        float distance = (float)Math.sqrt(distanceX * distanceX + distanceY * distanceY);
+        if (distance != 0f) {
+
+            distanceX /= distance;
+            distanceY /= distance;
+
+        }
+        float separation = collidable.getRadius() + getRadius();
+        setTranslation(collideX - distanceX * separation, collideY - distanceY * separation);
+        setVelocity(-distanceX * speed, -distanceY * speed);
 
     }
 
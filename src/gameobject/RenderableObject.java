@@ -1,36 +1,22 @@
 package gameobject;
 
-import processing.core.PApplet;
 import transform.Transformable;
+import render.RenderSnapshot;
 
 /// Object which can be rendered.
 public abstract class RenderableObject extends Transformable {
 
-    /// Implementation of rendering for this object.
-    /// \param
-    public abstract void renderCurrent(PApplet core);
+    /// Add the object and its transformation to a render snapshot.
+    /// \param snapshot the snapshot to add the object to.
+    /// \param root index of the node to transform the object relative to,
+    /// or RenderSnapshot.NO_NODE.
+    public abstract void capture(RenderSnapshot snapshot, int root);
 
-    /// Render using the object's transformation.
-    /// \param core Processing core to use for rendering.
-    public void render(PApplet core) {
+    /// Check whether the object is currently shown.
+    /// \return whether the object should be drawn.
+    public boolean isVisible() {
 
-        core.pushMatrix();
-        applyTransform(core);
-        renderCurrent(core);
-        core.popMatrix();
-
-    }
-
-    /// Combine this object's transformation with another then render it.
-    /// \param core Processing core to use for rendering.
-    /// \param combined transformation to combine with.
-    public void render(PApplet core, Transformable combined) {
-
-        core.pushMatrix();
-        combined.applyTransform(core);
-        applyTransform(core);
-        renderCurrent(core);
-        core.popMatrix();
+        return true;
 
     }
 
@@ -1,13 +1,12 @@
 package gameobject;
 
 import java.util.Iterator;
-import java.util.ArrayList;
-import processing.core.PApplet;
 import processing.core.PVector;
 import texture.Texture;
 import grid.Grid;
 import grid.Coordinates;
 import grid.Cell;
+import transform.Vec2;
 import config.Config;
 
 /// Spaceship with physics based movement.
@@ -24,11 +23,16 @@ public class Ship extends GridObject {
     private static final float BOUNCE_MULTIPLIER = 0.5f;
     private static final float MIN_BOUNCE_SPEED = 40f;
 
+    /// Ship bounces off asteroids, is damaged by enemies and picks up power-ups.
+    static final int COLLISION_MASK = layerBit(ASTEROID_LAYER) | 
+                                      layerBit(ENEMY_LAYER) | 
+                                      layerBit(POWERUP_LAYER);
+
     /// The ship's current health.
     private int mHealth;
 
-    /// The ship's current velocity.
-    private PVector mVelocity;
+    /// Scratch vector for the direction of bounces.
+    private final Vec2 mBounce;
 
     /// How long the ship has been invulnerable.
     private float mInvulnerableProgress;
@@ -54,18 +58,14 @@ public class Ship extends GridObject {
     /// Whether cheat mode is active.
     private boolean mCheat;
 
-    /// IDs of picked up power-ups.
-    private final ArrayList<Integer> mPowerUps;
-
-    /// IDs of enemies that have damaged the ship.
-    private final ArrayList<Integer> mEnemyDamage;
 
     /// Initialise the ship.
-    public Ship(Texture texture, Grid grid) {
+    public Ship(Texture texture, Grid grid, EntityStore entities) {
 
-        super(texture, grid);
+        super(texture, grid, entities, SHIP_LAYER);
+        mCollisionMask = COLLISION_MASK;
         mHealth = MAX_HEALTH;
-        mVelocity = new PVector(0.f, 0.f);
+        mBounce = new Vec2();
         mInvulnerableProgress = 0f;
         mFlashProgress = 0f;
         
@@ -76,8 +76,6 @@ public class Ship extends GridObject {
         mRight = false;
         mCheat = false;
 
-        mPowerUps = new ArrayList<Integer>();
-        mEnemyDamage = new ArrayList<Integer>();
     }
 
     /// Get the current health of the ship.
@@ -88,42 +86,6 @@ public class Ship extends GridObject {
 
     }
 
-    /// Check if the ship has picked up power-ups.
-    public boolean hasPowerUps() {
-
-        return !mPowerUps.isEmpty();
-
-    }
-
-    /// Get the next power-up picked up by the ship.
-    /// \return power-up ID picked up by ship.
-    public int getPowerUp() {
-
-        assert hasPowerUps();
-        int id = mPowerUps.get(0);
-        mPowerUps.remove(0);
-        return id;
-
-    }
-
-    /// Check if the ship has been damaged by an enemy.
-    public boolean hasEnemyDamage() {
-
-        return !mEnemyDamage.isEmpty();
-
-    }
-
-    /// Get the ID of the next enemy that damaged the ship.
-    /// \return the ID of the enemy that damaged the ship.
-    public int getEnemyDamage() {
-
-        assert hasEnemyDamage();
-        int id = mEnemyDamage.get(0);
-        mEnemyDamage.remove(0);
-        return id;
-
-    }
-
     /// Activate or deactivate cheat mode.
     /// \param cheat status to set cheat mode to.
     public void setCheat(boolean cheat) {
@@ -172,33 +134,19 @@ public class Ship extends GridObject {
         updateVelocity(delta);
         checkBounds();
 
-        // Move.
-        translate(PVector.mult(mVelocity, delta));
-
-        // Dampen velocity.
-        mVelocity.sub(PVector.mult(mVelocity, DAMPENING * delta));
+        // Dampen velocity (the entity store then moves the ship).
+        setVelocity(getXVelocity() * (1f - DAMPENING * delta), 
+                    getYVelocity() * (1f - DAMPENING * delta));
 
         updateRotation(delta);
 
     }
 
-    /// Render the ship if it is visible.
-    /// \param core the processing core to use for rendering.
-    public void renderCurrent(PApplet core) {
-
-        if (mVisible) {
-
-            super.renderCurrent(core);
-
-        }
-
-    }
-
     /// Add the ship to a grid cell.
     /// \param cell the grid cell to add the ship to,
     protected void addToCell(Cell cell) {
 
-        cell.ship = this;
+        cell.ships.add(this);
 
     }
 
@@ -206,13 +154,23 @@ public class Ship extends GridObject {
     /// \param cell the grid cell to remove the ship from.
     protected void removeFromCell(Cell cell) {
 
-        cell.ship = null;
+        cell.ships.remove(this);
+
+    }
+
+    /// Pass a collision with this ship to another object.
+    /// \param receiver the object to notify of the collision.
+    /// \param commands buffer for effects on objects other than the receiver.
+    protected void sendCollision(GridObject receiver, CollisionCommands commands) {
+
+        receiver.handleCollision(this, commands);
 
     }
 
     /// Handle collision with asteroid by bouncing off it.
     /// \param asteroid asteroid that has been collided with.
-    protected void handleCollision(Asteroid asteroid) {
+    /// \param commands buffer for effects on the asteroid.
+    protected void handleCollision(Asteroid asteroid, CollisionCommands commands) {
 
         bounce(asteroid);
 
@@ -221,7 +179,8 @@ public class Ship extends GridObject {
     /// Handle collision with enemy by taking damage, destroying the enemy, bouncing 
     /// off it and entering short invulnerability mode.
     /// \param enemy that has bee collided with.
-    protected void handleCollision(Enemy enemy) {
+    /// \param commands buffer to record the damage and the enemy's destruction in.
+    protected void handleCollision(Enemy enemy, CollisionCommands commands) {
 
         // Only collide if not invulnerable and cheat mode is off.
         if (!mInvulnerable && !mCheat) {
@@ -229,9 +188,8 @@ public class Ship extends GridObject {
             mInvulnerable = true;
             mVisible = false;
             bounce(enemy);
-            --mHealth;
-            mEnemyDamage.add(enemy.getId());
-            enemy.destroy();
+            commands.damage(this, enemy.getId());
+            commands.destroy(enemy);
 
         }
 
@@ -239,23 +197,31 @@ public class Ship extends GridObject {
 
     /// Handle collision with power-up by consuming the power-up.
     /// \param powerUp power-up that was collided with.
-    protected void handleCollision(PowerUp powerUp) {
+    /// \param commands buffer to record the pickup and the power-up's destruction in.
+    protected void handleCollision(PowerUp powerUp, CollisionCommands commands) {
 
-        int id = powerUp.getId();
-        if (id == PowerUp.HEALTH_ID) {
+        commands.powerUp(this, powerUp.getId());
+        commands.destroy(powerUp);
 
-            if (mHealth < MAX_HEALTH) {
-                
-                ++mHealth;
+    }
 
-            }
+    /// Take damage from an enemy.
+    void takeDamage() {
+
+        --mHealth;
+
+    }
 
-        } else {
+    /// Collect a power-up, restoring health if it is a health pickup. Other
+    /// power-ups are used by the turret.
+    /// \param id the ID of the collected power-up.
+    void collectPowerUp(int id) {
 
-            mPowerUps.add(id);
+        if (id == PowerUp.HEALTH_ID && mHealth < MAX_HEALTH) {
+
+            ++mHealth;
 
         }
-        powerUp.destroy();
 
     }
 
@@ -296,15 +262,10 @@ public class Ship extends GridObject {
         // Accelerate forwards if the ship is boosting.
         if (mBoost) {
 
-            PVector acceleration = new PVector(0f, -ACCELERATION * delta);
-            acceleration.rotate(getRadianRotation());
-            mVelocity.add(acceleration);
-
-            if (mVelocity.mag() > MAX_SPEED) {
-
-                mVelocity.setMag(MAX_SPEED);
-
-            }
+            // Forward acceleration (0, -acceleration) rotated to face the ship's direction.
+            float speed = ACCELERATION * delta;
+            accelerate(speed * getRotationSin(), -speed * getRotationCos());
+            limitSpeed(MAX_SPEED);
 
         }
 
@@ -313,42 +274,44 @@ public class Ship extends GridObject {
     /// Check whether the ship is out of bounds and bounce back inside if it is.
     private void checkBounds() {
 
-        PVector pos = getTranslation();
+        float x = getXTranslation();
+        float y = getYTranslation();
         float radius = getRadius();
 
         // Bounce when out of bounds.
-        if (((pos.x - radius) < 0f && mVelocity.x < 0f) ||
-            ((pos.x + radius) > Config.AREA_WIDTH && mVelocity.x > 0f)) {
+        if (((x - radius) < 0f && getXVelocity() < 0f) ||
+            ((x + radius) > Config.AREA_WIDTH && getXVelocity() > 0f)) {
 
             // reverse velocity.
-            mVelocity.x *= -1;
+            setVelocity(-getXVelocity(), getYVelocity());
 
             // Move in bounds.
-            if ((pos.x - radius) < 0f) {
+            if ((x - radius) < 0f) {
 
-                setTranslation(radius, pos.y);
+                x = radius;
 
             } else {
 
-                setTranslation(Config.AREA_WIDTH - radius, pos.y);
+                x = Config.AREA_WIDTH - radius;
 
             }
+            setTranslation(x, y);
 
         }
-        if (((pos.y - radius) < 0f && mVelocity.y < 0f) ||
-            ((pos.y + radius) > Config.AREA_HEIGHT && mVelocity.y > 0f)) {
+        if (((y - radius) < 0f && getYVelocity() < 0f) ||
+            ((y + radius) > Config.AREA_HEIGHT && getYVelocity() > 0f)) {
 
             // reverse velocity.
-            mVelocity.y *= -1;
+            setVelocity(getXVelocity(), -getYVelocity());
 
             // Move in bounds.
-            if ((pos.y - radius) < 0f) {
+            if ((y - radius) < 0f) {
 
-                setTranslation(pos.x, radius);
+                setTranslation(x, radius);
 
             } else {
 
-                setTranslation(pos.x, Config.AREA_HEIGHT - radius);
+                setTranslation(x, Config.AREA_HEIGHT - radius);
 
             }
 
@@ -377,7 +340,7 @@ public class Ship extends GridObject {
     private void bounce(CollidableObject collidable) {
 
         // caclulate bounce speed.
-        float bounceSpeed = mVelocity.mag() * BOUNCE_MULTIPLIER;
+        float bounceSpeed = getSpeed() * BOUNCE_MULTIPLIER;
         if (bounceSpeed < MIN_BOUNCE_SPEED) {
             
             bounceSpeed = MIN_BOUNCE_SPEED;
@@ -385,12 +348,12 @@ public class Ship extends GridObject {
         }
 
         // Move outside collidable and set velocity moving away from collidable.
-        PVector collidePos = collidable.getTranslation();
-        PVector distance = PVector.sub(collidePos, getTranslation());
-        distance.normalize();
-        mVelocity = PVector.mult(distance, -bounceSpeed);
-        distance.mult(collidable.getRadius() + getRadius());
-        setTranslation(collidePos.sub(distance));
+        float collideX = collidable.getXTranslation();
+        float collideY = collidable.getYTranslation();
+        mBounce.set(collideX - getXTranslation(), collideY - getYTranslation()).normalize();
+        float separation = collidable.getRadius() + getRadius();
+        setTranslation(collideX - mBounce.x * separation, collideY - mBounce.y * separation);
+        setVelocity(-mBounce.x * bounceSpeed, -mBounce.y * bounceSpeed);
 
     }
 
@@ -1,7 +1,6 @@
 package gameobject;
 
-import processing.core.PApplet;
-import processing.core.PConstants;
+import render.RenderSnapshot;
 
 /// A game object that displays text.
 public class TextObject extends RenderableObject {
@@ -34,24 +33,12 @@ public class TextObject extends RenderableObject {
 
     }
 
-    /// Render the text.
-    /// \param core Processing core to use for rendering.
-    public void renderCurrent(PApplet core) {
+    /// Add the text to a render snapshot.
+    /// \param snapshot the snapshot to add the text to.
+    /// \param root index of the node to transform the text relative to.
+    public void capture(RenderSnapshot snapshot, int root) {
 
-        // Align text.
-        if (mCentred) {
-
-            core.textAlign(PConstants.CENTER, PConstants.CENTER);
-
-        } else {
-
-            core.textAlign(PConstants.LEFT, PConstants.TOP);
-
-        }
-        
-        // Set text size the render.
-        core.textSize(mSize);
-        core.text(mText, 0f, 0f);
+        snapshot.addText(captureTransform(snapshot, root), mText, mSize, mCentred);
 
     }
 
@@ -2,8 +2,8 @@ package gameobject;
 
 import processing.core.PImage;
 import processing.core.PVector;
-import processing.core.PApplet;
 import texture.Texture;
+import render.RenderSnapshot;
 
 /// A game object that displays a texture.
 public class TextureObject extends RenderableObject {
@@ -23,9 +23,12 @@ public class TextureObject extends RenderableObject {
 
     }
 
-    public void renderCurrent(PApplet core) {
+    /// Add the texture with its current clip to a render snapshot.
+    /// \param snapshot the snapshot to add the texture to.
+    /// \param root index of the node to transform the object relative to.
+    public void capture(RenderSnapshot snapshot, int root) {
 
-        mTexture.render(core, mClipIndex);
+        snapshot.addSprite(captureTransform(snapshot, root), mTexture, mClipIndex, isVisible());
 
     }
 
@@ -1,11 +1,14 @@
 package gameobject;
 
-import processing.core.PApplet;
 import processing.core.PVector;
 import texture.Texture;
 import scene.ProjectileManager;
 import camera.Camera;
+import transform.Vec2;
+import math.FastMath;
 import config.Config;
+import event.EventChannel;
+import event.Subscription;
 
 /// Turret attached to ship that shoots lasers.
 public class Turret extends TextureObject {
@@ -38,10 +41,20 @@ public class Turret extends TextureObject {
     /// Time passed using current power-up.
     private float mPowerUpProgress;
 
+    /// Scratch vector for the turret's position relative to the world.
+    private final Vec2 mWorldTranslation;
+
+    /// Rotation relative to the world that the turret is aiming at.
+    private float mAim;
+
+    /// Subscription to power-ups collected by the ship.
+    private final Subscription mEvents;
+
     /// Initialise turret.
     public Turret(Texture texture, 
                   Ship ship, 
-                  ProjectileManager projectileManager) {
+                  ProjectileManager projectileManager,
+                  EventChannel events) {
 
         super(texture);
         mShip = ship;
@@ -53,7 +66,12 @@ public class Turret extends TextureObject {
         mFiring = false;
         mLaserId = NormalLaser.ID;
         mPowerUpProgress = 0f;
+        mWorldTranslation = new Vec2();
+        mAim = 0f;
+        mEvents = events.subscribe(this::handleEvent);
 
+        // Move, scale and rotate with the ship.
+        setParent(ship);
         setOrigin(15f, 50f);
 
     }
@@ -72,56 +90,13 @@ public class Turret extends TextureObject {
     public void adjustTarget(Camera camera, PVector target) {
 
         // adjust translation based on camera being used.
-        PVector translation = getTranslation();
-        translation.x *= camera.getXScale();
-        translation.y *= camera.getXScale();
-        translation.add(camera.getTranslation());
-        
-        PVector distance = PVector.sub(target, translation);
+        Vec2 translation = getTranslation(mWorldTranslation);
+        float distanceX = target.x - (translation.x * camera.getXScale() + camera.getXTranslation());
+        float distanceY = target.y - (translation.y * camera.getXScale() + camera.getYTranslation());
 
         // Get new rotation.
-        float rotation = (float)Math.atan(distance.y / distance.x) * (180f / (float)Math.PI);
-
-        // Orientate rotation to match turret.
-        if (distance.x >= 0f) {
-
-            rotation += 90f;
-
-        } else {
-
-            rotation += 270f;
-
-        }
-        setRotation(rotation);
-
-    }
-
-    // Translate relative to ship.
-    public PVector getTranslation() {
-
-        PVector translation = super.getTranslation();
-
-        PVector shipTranslation = mShip.getTranslation();
-        float shipRotation = mShip.getRadianRotation();
-        PVector shipScale = mShip.getScale();
-
-        translation.x *= shipScale.x;
-        translation.y *= shipScale.y;
-        translation.rotate(shipRotation);
-
-        return translation.add(shipTranslation);
-
-    }
-
-    /// Scale relative to ship.
-    /// \return turret scale combined with ship scale.
-    public PVector getScale() {
-
-        PVector scale = super.getScale();
-        PVector shipScale = mShip.getScale();
-        scale.x *= shipScale.x;
-        scale.y *= shipScale.y;
-        return scale;
+        mAim = FastMath.heading(distanceX, distanceY);
+        aim();
 
     }
 
@@ -129,22 +104,19 @@ public class Turret extends TextureObject {
     /// \param delta the time since the last update.
     public void update(float delta) {
 
+        // Keep aiming in the same direction if the ship has turned.
+        aim();
         updateFiring(delta);
         updatePowerUps(delta);
 
 
     }
 
-    /// Render the turret.
-    /// \param core processing core to use for rendering.
-    public void renderCurrent(PApplet core) {
-
-        // Only render when ship is visible.
-        if (mShip.isVisible()) {
+    /// Check whether the turret is currently shown.
+    /// \return whether the ship, and so the turret, is visible.
+    public boolean isVisible() {
 
-            super.renderCurrent(core);
-
-        }
+        return mShip.isVisible();
 
     }
 
@@ -159,21 +131,20 @@ public class Turret extends TextureObject {
 
             if (mFiring) {
 
-                float radianRotation = getRadianRotation();
-                PVector laserTranslation = getTranslation();
-                PVector fireTranslation = new PVector(0f, -FIRING_OFFSET);
-                fireTranslation.rotate(radianRotation);
-                laserTranslation.add(fireTranslation);
-
-                PVector laserVelocity = new PVector(0f, -LASER_SPEED);
-                laserVelocity.rotate(radianRotation);
+                // Fire forwards from the end of the barrel.
+                float sin = getRotationSin();
+                float cos = getRotationCos();
+                Vec2 laserTranslation = getTranslation(mWorldTranslation);
+                laserTranslation.add(FIRING_OFFSET * sin, -FIRING_OFFSET * cos);
 
                 while (mRechargeProgress < 0f) {
 
                     mRechargeProgress += mRechargeDuration;
                     mProjectileManager.addLaser(mLaserId, 
-                                                laserVelocity, 
-                                                laserTranslation);
+                                                LASER_SPEED * sin,
+                                                -LASER_SPEED * cos,
+                                                laserTranslation.x,
+                                                laserTranslation.y);
 
                 }
 
@@ -192,32 +163,50 @@ public class Turret extends TextureObject {
     private void updatePowerUps(float delta) {
 
         // Use power-ups collected by ship.
-        while (mShip.hasPowerUps()) {
+        mEvents.drain();
+        mPowerUpProgress -= delta;
+        if (mPowerUpProgress < 0f) {
 
             resetPowerUp();
-            int powerUp = mShip.getPowerUp();
-            if (powerUp == PowerUp.REFLECT_ID) {
-
-                mLaserId = ReflectLaser.ID;
 
-            } else if (powerUp == PowerUp.PENETRATE_ID) {
+        }
 
-                mLaserId = PenetrateLaser.ID;
+    }
 
-            } else if (powerUp == PowerUp.FIRE_RATE_ID) {
+    /// Use a power-up collected by the ship.
+    /// \param type the type of the event.
+    /// \param value the value carried by the event.
+    private void handleEvent(int type, int value) {
 
-                mRechargeDuration = POWERUP_RECHARGE;
+        if (type != EventChannel.POWER_UP_COLLECTED || value == PowerUp.HEALTH_ID) {
 
-            }
-            mPowerUpProgress = POWERUP_DURATION;
+            return;
 
         }
-        mPowerUpProgress -= delta;
-        if (mPowerUpProgress < 0f) {
 
-            resetPowerUp();
+        resetPowerUp();
+        if (value == PowerUp.REFLECT_ID) {
+
+            mLaserId = ReflectLaser.ID;
+
+        } else if (value == PowerUp.PENETRATE_ID) {
+
+            mLaserId = PenetrateLaser.ID;
+
+        } else if (value == PowerUp.FIRE_RATE_ID) {
+
+            mRechargeDuration = POWERUP_RECHARGE;
 
         }
+        mPowerUpProgress = POWERUP_DURATION;
+
+    }
+
+    /// Set the turret's rotation relative to the ship so it points in the
+    /// aimed direction.
+    private void aim() {
+
+        setRotation(mAim - mShip.getRotation());
 
     }
 
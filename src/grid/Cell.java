@@ -1,30 +1,81 @@
 package grid;
 
-import java.util.ArrayList;
 import gameobject.Ship;
 import gameobject.Laser;
 import gameobject.Asteroid;
 import gameobject.PowerUp;
 import gameobject.Enemy;
+import gameobject.GridObject;
 
 /// Cell in a grid that keeps reference to objects in it.
 public class Cell {
 
+    /// Packed id of the cell in its grid.
+    public final int id;
+
     /// Objects contained in the cell.
-    public Ship ship;
-    public ArrayList<Laser> lasers;
-    public ArrayList<Asteroid> asteroids;
-    public ArrayList<PowerUp> powerUps;
-    public ArrayList<Enemy> enemies;
+    public final CellList<Ship> ships;
+    public final CellList<Laser> lasers;
+    public final CellList<Asteroid> asteroids;
+    public final CellList<PowerUp> powerUps;
+    public final CellList<Enemy> enemies;
+
+    /// Bit mask of collision layers with at least one object in the cell.
+    private int mLayers;
 
     /// Initialise containers.
-    public Cell() {
+    /// \param id packed id of the cell in its grid.
+    public Cell(int id) {
+
+        this.id = id;
+        ships = new CellList<Ship>(this, GridObject.SHIP_LAYER);
+        lasers = new CellList<Laser>(this, GridObject.LASER_LAYER);
+        asteroids = new CellList<Asteroid>(this, GridObject.ASTEROID_LAYER);
+        powerUps = new CellList<PowerUp>(this, GridObject.POWERUP_LAYER);
+        enemies = new CellList<Enemy>(this, GridObject.ENEMY_LAYER);
+        mLayers = 0;
+
+    }
+
+    /// Get the mask of collision layers that have objects in this cell.
+    /// \return bit mask with a bit set for each non-empty layer.
+    public int getLayers() {
+
+        return mLayers;
+
+    }
+
+    /// Get the list of objects on a collision layer.
+    /// \param layer the collision layer.
+    /// \return the list holding objects on that layer.
+    public CellList<? extends GridObject> getList(int layer) {
+
+        switch (layer) {
+            case GridObject.SHIP_LAYER:
+                return ships;
+            case GridObject.LASER_LAYER:
+                return lasers;
+            case GridObject.ASTEROID_LAYER:
+                return asteroids;
+            case GridObject.POWERUP_LAYER:
+                return powerUps;
+            default:
+                return enemies;
+        }
+
+    }
+
+    /// Mark a layer as having objects in the cell.
+    void setLayer(int bit) {
+
+        mLayers |= bit;
+
+    }
+
+    /// Mark a layer as having no objects in the cell.
+    void clearLayer(int bit) {
 
-        ship = null;
-        lasers = new ArrayList<Laser>();
-        asteroids = new ArrayList<Asteroid>();
-        powerUps = new ArrayList<PowerUp>();
-        enemies = new ArrayList<Enemy>();
+        mLayers &= ~bit;
 
     }
 
@@ -0,0 +1,140 @@
+package grid;
+
+/// Indexed binary min heap of packed cell ids ordered by a float key.
+/// Storage is sized to the grid once so pushing and popping never allocates.
+class CellHeap {
+
+    /// Cell ids in heap order.
+    private final int[] mHeap;
+
+    /// Position of each cell in the heap (only valid while the cell is queued).
+    private final int[] mIndex;
+
+    /// Key of each cell (only valid while the cell is queued).
+    private final float[] mKeys;
+
+    /// Number of cells in the heap.
+    private int mSize;
+
+    /// Initialise storage for a number of cells.
+    /// \param cells the number of cells in the grid.
+    CellHeap(int cells) {
+
+        mHeap = new int[cells];
+        mIndex = new int[cells];
+        mKeys = new float[cells];
+        mSize = 0;
+
+    }
+
+    /// Remove all cells from the heap.
+    void clear() {
+
+        mSize = 0;
+
+    }
+
+    /// Check if the heap is empty.
+    boolean isEmpty() {
+
+        return mSize == 0;
+
+    }
+
+    /// Add a cell that is not currently queued.
+    /// \param cell packed id of the cell to add.
+    /// \param key the key to order the cell by.
+    void push(int cell, float key) {
+
+        mKeys[cell] = key;
+        mHeap[mSize] = cell;
+        mIndex[cell] = mSize;
+        siftUp(mSize++);
+
+    }
+
+    /// Lower the key of a cell that is currently queued.
+    /// \param cell packed id of the queued cell.
+    /// \param key the new, smaller key.
+    void decrease(int cell, float key) {
+
+        assert key <= mKeys[cell];
+        mKeys[cell] = key;
+        siftUp(mIndex[cell]);
+
+    }
+
+    /// Remove the cell with the smallest key.
+    /// \return packed id of the removed cell.
+    int pop() {
+
+        assert mSize > 0;
+        int top = mHeap[0];
+        --mSize;
+        if (mSize > 0) {
+
+            mHeap[0] = mHeap[mSize];
+            mIndex[mHeap[0]] = 0;
+            siftDown(0);
+
+        }
+        return top;
+
+    }
+
+    /// Move a heap entry up until its parent is smaller.
+    private void siftUp(int index) {
+
+        int cell = mHeap[index];
+        float key = mKeys[cell];
+        while (index > 0) {
+
+            int parent = (index - 1) >> 1;
+            int parentCell = mHeap[parent];
+            if (mKeys[parentCell] <= key) {
+
+                break;
+
+            }
+            mHeap[index] = parentCell;
+            mIndex[parentCell] = index;
+            index = parent;
+
+        }
+        mHeap[index] = cell;
+        mIndex[cell] = index;
+
+    }
+
+    /// Move a heap entry down until its children are larger.
+    private void siftDown(int index) {
+
+        int cell = mHeap[index];
+        float key = mKeys[cell];
+        int half = mSize >> 1;
+        while (index < half) {
+
+            int child = (index << 1) + 1;
+            int right = child + 1;
+            if (right < mSize && mKeys[mHeap[right]] < mKeys[mHeap[child]]) {
+
+                child = right;
+
+            }
+            int childCell = mHeap[child];
+            if (key <= mKeys[childCell]) {
+
+                break;
+
+            }
+            mHeap[index] = childCell;
+            mIndex[childCell] = index;
+            index = child;
+
+        }
+        mHeap[index] = cell;
+        mIndex[cell] = index;
+
+    }
+
+}
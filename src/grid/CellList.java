@@ -0,0 +1,109 @@
+package grid;
+
+import java.util.Arrays;
+import gameobject.GridObject;
+
+/// Unordered list of objects in a cell. Each object records its slot in the
+/// list so removal swaps the last object into the gap instead of searching
+/// and shifting, making insertion and removal O(1) and allocation free once
+/// the list has grown to the cell's peak occupancy.
+public class CellList<T extends GridObject> {
+
+    /// Initial number of slots.
+    private static final int INITIAL_CAPACITY = 4;
+
+    /// Objects in the list (only the first mSize are valid).
+    private Object[] mItems;
+
+    /// Number of objects in the list.
+    private int mSize;
+
+    /// Cell owning the list.
+    private final Cell mCell;
+
+    /// Bit of the collision layer the list holds.
+    private final int mLayerBit;
+
+    /// Initialise empty list.
+    /// \param cell the cell owning the list.
+    /// \param layer the collision layer of objects held in the list.
+    public CellList(Cell cell, int layer) {
+
+        mItems = new Object[INITIAL_CAPACITY];
+        mSize = 0;
+        mCell = cell;
+        mLayerBit = 1 << layer;
+
+    }
+
+    /// Get the number of objects in the list.
+    public int size() {
+
+        return mSize;
+
+    }
+
+    /// Check if the list is empty.
+    public boolean isEmpty() {
+
+        return mSize == 0;
+
+    }
+
+    /// Get the object in a slot.
+    /// \param index the slot to get.
+    /// \return the object in the slot.
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+
+        assert index < mSize;
+        return (T)mItems[index];
+
+    }
+
+    /// Add an object to the list, recording its slot on the object.
+    /// \param item the object to add.
+    public void add(T item) {
+
+        if (mSize == mItems.length) {
+
+            mItems = Arrays.copyOf(mItems, mSize * 2);
+
+        }
+        mItems[mSize] = item;
+        item.setCellSlot(mSize);
+        if (mSize++ == 0) {
+
+            mCell.setLayer(mLayerBit);
+
+        }
+
+    }
+
+    /// Remove an object from the list by swapping the last object into its slot.
+    /// \param item the object to remove.
+    @SuppressWarnings("unchecked")
+    public void remove(T item) {
+
+        int slot = item.getCellSlot();
+        assert slot >= 0 && slot < mSize && mItems[slot] == item;
+
+        --mSize;
+        if (slot != mSize) {
+
+            T moved = (T)mItems[mSize];
+            mItems[slot] = moved;
+            moved.setCellSlot(slot);
+
+        }
+        mItems[mSize] = null;
+        item.setCellSlot(-1);
+        if (mSize == 0) {
+
+            mCell.clearLayer(mLayerBit);
+
+        }
+
+    }
+
+}
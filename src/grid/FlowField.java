@@ -0,0 +1,170 @@
+package grid;
+
+import java.util.Arrays;
+
+/// Field of shortest path costs from every cell to a single goal cell.
+/// Built with a reverse Dijkstra search from the goal so any number of
+/// enemies heading to the same goal can read their next step in O(1).
+public class FlowField {
+
+    /// Grid the field covers.
+    private final Grid mGrid;
+
+    /// Dimensions of the grid in cells.
+    private final int mColumns;
+    private final int mRows;
+
+    /// Cost of reaching the goal from each cell.
+    private final float[] mCost;
+
+    /// Next cell to move to from each cell (-1 for the goal and unreachable cells).
+    private final int[] mNext;
+
+    /// Whether each cell has been evaluated in the current build.
+    private final boolean[] mClosed;
+
+    /// Cells waiting to be evaluated ordered by cost.
+    private final CellHeap mOpen;
+
+    /// Goal cell the field currently leads to (-1 if not built).
+    private int mGoal;
+
+    /// Obstacle epoch the field was built for.
+    private int mEpoch;
+
+    /// Initialise storage for a field over a grid.
+    /// \param grid the grid to cover.
+    FlowField(Grid grid) {
+
+        mGrid = grid;
+        mColumns = grid.getColumns();
+        mRows = grid.getRows();
+
+        int cells = mColumns * mRows;
+        mCost = new float[cells];
+        mNext = new int[cells];
+        mClosed = new boolean[cells];
+        mOpen = new CellHeap(cells);
+        mGoal = -1;
+        mEpoch = -1;
+
+    }
+
+    /// Get the goal cell the field leads to.
+    /// \return packed id of the goal cell.
+    public int getGoal() {
+
+        return mGoal;
+
+    }
+
+    /// Get the next cell to move to on the shortest path to the goal.
+    /// \param cellId packed id of the current cell.
+    /// \return packed id of the next cell or -1 if the cell is the goal or
+    ///         the goal cannot be reached from it.
+    public int getNext(int cellId) {
+
+        return mNext[cellId];
+
+    }
+
+    /// Rebuild the field if the goal or obstacle layout has changed.
+    /// \param goal packed id of the goal cell.
+    /// \param epoch current obstacle epoch of the grid.
+    void update(int goal, int epoch) {
+
+        if (goal != mGoal || epoch != mEpoch) {
+
+            build(goal);
+            mGoal = goal;
+            mEpoch = epoch;
+
+        }
+
+    }
+
+    /// Build the field with a reverse Dijkstra search from the goal.
+    /// Matches A* rules: a path may start in or finish at a blocked cell but
+    /// may not pass through one, so blocked cells are given a cost but never
+    /// expanded.
+    /// \param goal packed id of the goal cell.
+    private void build(int goal) {
+
+        Arrays.fill(mCost, Float.MAX_VALUE);
+        Arrays.fill(mNext, -1);
+        Arrays.fill(mClosed, false);
+        mOpen.clear();
+
+        mCost[goal] = 0f;
+        mOpen.push(goal, 0f);
+
+        while (!mOpen.isEmpty()) {
+
+            int current = mOpen.pop();
+            mClosed[current] = true;
+            if (current == goal || !mGrid.isBlocked(current)) {
+
+                expand(current);
+
+            }
+
+        }
+
+    }
+
+    /// Relax the neighbours of a cell towards it.
+    /// \param current packed id of the cell being evaluated.
+    private void expand(int current) {
+
+        int x = current % mColumns;
+        int y = current / mColumns;
+        float currentCost = mCost[current];
+
+        for (int dy = -1; dy <= 1; ++dy) {
+
+            int ny = y + dy;
+            if (ny < 0 || ny >= mRows) {
+
+                continue;
+
+            }
+            for (int dx = -1; dx <= 1; ++dx) {
+
+                int nx = x + dx;
+                if ((dx == 0 && dy == 0) || nx < 0 || nx >= mColumns) {
+
+                    continue;
+
+                }
+                int n = ny * mColumns + nx;
+                if (mClosed[n]) {
+
+                    continue;
+
+                }
+
+                float cost = currentCost + ((dx != 0 && dy != 0) ? PathFinder.DIAGONAL_COST : 1f);
+                if (cost < mCost[n]) {
+
+                    boolean queued = mCost[n] != Float.MAX_VALUE;
+                    mCost[n] = cost;
+                    mNext[n] = current;
+                    if (queued) {
+
+                        mOpen.decrease(n, cost);
+
+                    } else {
+
+                        mOpen.push(n, cost);
+
+                    }
+
+                }
+
+            }
+
+        }
+
+    }
+
+}
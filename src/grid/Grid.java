@@ -1,13 +1,8 @@
 package grid;
 
-import java.util.Iterator;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.HashMap;
-import java.util.Comparator;
-import java.util.PriorityQueue;
 import processing.core.PVector;
 import rect.Rect;
+import transform.Vec2;
 import config.Config;
 
 /// Grid that creates spacial partition of an area.
@@ -22,38 +17,29 @@ public class Grid {
     /// Array of cells in the grid.
     private final Cell[][] mCells;
 
-    /// Path data used for A* path finding.
-    /// Stores coordinates of a cell and the cost to reach that cell.
-    private class PathData {
+    /// Search engine used for shortest path queries.
+    private final PathFinder mPathFinder;
 
-        public Coordinates coords;
-        public float cost;
+    /// Maximum number of paths kept in the path cache.
+    private static final int PATH_CACHE_CAPACITY = 64;
 
-        public PathData(Coordinates coords, float cost) {
+    /// Recently found paths keyed by start and goal cell.
+    private final PathCache mPathCache;
 
-            this.coords = coords;
-            this.cost = cost;
+    /// Shared flow field towards the most recently requested goal.
+    private final FlowField mFlowField;
 
-        }
-
-    }
+    /// Number of asteroids in each cell, indexed by packed cell id.
+    private final int[] mObstacleCounts;
 
-    /// Comparator used for comparing path data in A* search.
-    private class PathComparator implements Comparator<PathData> {
+    /// Bitset of cells containing at least one asteroid, indexed by packed cell id.
+    private final long[] mBlocked;
 
-        public int compare(PathData o1, PathData o2) {
+    /// Counter incremented whenever the asteroid layout changes.
+    private int mObstacleEpoch;
 
-            if (o1.cost < o2.cost) {
-                return -1;
-            }
-            if (o1.cost > o2.cost) {
-                return 1;
-            }
-            return 0;
-
-        }
-
-    }
+    /// Total number of times objects have changed cell.
+    private long mCrossings;
 
     /// Initialise grid.
     public Grid(Rect bounds, float cellSize) {
@@ -70,12 +56,98 @@ public class Grid {
 
             for (int j = 0; j < yCells; ++j) {
 
-                mCells[i][j] = new Cell();
+                mCells[i][j] = new Cell(j * xCells + i);
 
             }
 
         }
 
+        mPathFinder = new PathFinder(this);
+        mPathCache = new PathCache(PATH_CACHE_CAPACITY, xCells * yCells);
+        mFlowField = new FlowField(this);
+        mObstacleCounts = new int[xCells * yCells];
+        mBlocked = new long[(xCells * yCells + 63) >> 6];
+        mObstacleEpoch = 0;
+        mCrossings = 0;
+
+    }
+
+    /// Get the number of columns of cells in the grid.
+    /// \return the number of cells along the x axis.
+    public int getColumns() {
+
+        return mCells.length;
+
+    }
+
+    /// Get the number of rows of cells in the grid.
+    /// \return the number of cells along the y axis.
+    public int getRows() {
+
+        return mCells[0].length;
+
+    }
+
+    /// Pack coordinates into a single cell id.
+    /// \param coords the coordinates to pack.
+    /// \return the packed id of the cell at the coordinates.
+    public int getCellId(Coordinates coords) {
+
+        assert checkValid(coords);
+        return coords.y * mCells.length + coords.x;
+
+    }
+
+    /// Unpack a cell id into coordinates.
+    /// \param cellId packed id of the cell.
+    /// \return the coordinates of the cell.
+    public Coordinates getCoords(int cellId) {
+
+        return new Coordinates(cellId % mCells.length, cellId / mCells.length);
+
+    }
+
+    /// Convert a position in the area to a packed cell id without allocating.
+    /// \param x x component of the position.
+    /// \param y y component of the position.
+    /// \return the packed id of the cell containing the position or -1 if
+    ///         the position lies outside the grid.
+    public int getCellId(float x, float y) {
+
+        // return -1 if position outside bounds.
+        if (x < mBounds.x ||
+            y < mBounds.y ||
+            x >= (mBounds.x + mBounds.width) ||
+            y >= (mBounds.y + mBounds.height)) {
+
+            return -1;
+
+        }
+
+        int cellX = (int)((x - mBounds.x) / mCellSize);
+        int cellY = (int)((y - mBounds.y) / mCellSize);
+
+        // Account for potential floating point errors.
+        if (cellX >= mCells.length) {
+
+            cellX = mCells.length - 1;
+
+        } else if (cellX < 0) {
+
+            cellX = 0;
+
+        }
+        if (cellY >= mCells[0].length) {
+
+            cellY = mCells[0].length - 1;
+
+        } else if (cellY < 0) {
+
+            cellY = 0;
+
+        }
+        return cellY * mCells.length + cellX;
+
     }
 
     /// Convert translation in area to grid coordinates.
@@ -134,6 +206,27 @@ public class Grid {
 
     }
 
+    /// Get the centre of a cell without allocating.
+    /// \param cellId packed id of the cell to get the centre of.
+    /// \param out vector to store the centre in.
+    /// \return out, containing the translation of the centre of the cell.
+    public Vec2 getCentre(int cellId, Vec2 out) {
+
+        float x = ((cellId % mCells.length) * mCellSize) + mBounds.x + (mCellSize / 2f);
+        float y = ((cellId / mCells.length) * mCellSize) + mBounds.y + (mCellSize / 2f);
+        return out.set(x, y);
+
+    }
+
+    /// Get a cell by its packed id.
+    /// \param cellId packed id of the cell to get.
+    /// \return the cell with the specified id.
+    public Cell getCell(int cellId) {
+
+        return mCells[cellId % mCells.length][cellId / mCells.length];
+
+    }
+
     /// Get a cell a specified coordinates.
     /// \param coords the coordinates of the cell to get.
     /// \return the cell at the specified coordinates.
@@ -143,154 +236,128 @@ public class Grid {
 
     }
 
-    /// Create a list of neighbouring coordinates.
-    /// \param coords coordinates to get the neighbouring coordinates for.
-    /// \return a list of neighbouring coordinates.
-    public ArrayList<Coordinates> getNeighbourCoords(Coordinates coords) {
+    /// Get the shortest path from one cell to another.
+    /// \param startId packed id of the starting cell.
+    /// \param goalId packed id of the goal cell.
+    /// \param path path to fill with the packed ids of cells to follow to the goal.
+    /// \return whether a path exists (the path is left empty if not).
+    public boolean getShortestPath(int startId, int goalId, Path path) {
 
-        assert checkValid(coords);
-        ArrayList<Coordinates> neighbours = new ArrayList<Coordinates>();
+        assert checkValid(startId);
+        assert checkValid(goalId);
 
-        boolean left = coords.x > 0;
-        boolean right = coords.x < (mCells.length - 1);
-        boolean upper = coords.y > 0;
-        boolean lower = coords.y < (mCells[0].length - 1);
+        // Reuse the cached result if the same query has been made since the
+        // asteroid layout last changed.
+        if (mPathCache.lookup(startId, goalId, mObstacleEpoch, path)) {
 
-        if (left) {
-            neighbours.add(new Coordinates(coords.x - 1, coords.y));
-            if (upper) {
-                neighbours.add(new Coordinates(coords.x - 1, coords.y - 1));
-            }
-            if (lower) {
-                neighbours.add(new Coordinates(coords.x - 1, coords.y + 1));
-            }
-        }
-        
-        if (right) {
-            neighbours.add(new Coordinates(coords.x + 1, coords.y));
-            if (upper) {
-                neighbours.add(new Coordinates(coords.x + 1, coords.y - 1));
-            }
-            if (lower) {
-                neighbours.add(new Coordinates(coords.x + 1, coords.y + 1));
-            }
-        }
+            return !path.isEmpty();
 
-        if (upper) {
-            neighbours.add(new Coordinates(coords.x, coords.y - 1));
-        }
-        if (lower) {
-            neighbours.add(new Coordinates(coords.x, coords.y + 1));
         }
-
-        return neighbours;
+        boolean found = mPathFinder.search(startId, goalId, path);
+        mPathCache.store(startId, goalId, mObstacleEpoch, path, found);
+        return found;
 
     }
 
-    /// Create a list of neighbouring cells.
-    /// \param coords coordinates to get the neighbouring cells for.
-    /// \return a list of neighbouring cells.
-    public ArrayList<Cell> getNeighbourCells(Coordinates coords) {
+    /// Get the number of path queries answered from the path cache.
+    /// \return the number of cache hits.
+    public long getPathCacheHits() {
 
-        ArrayList<Coordinates> neighbourCoords = getNeighbourCoords(coords);
-        ArrayList<Cell> neighbours = new ArrayList<Cell>();
-        Iterator<Coordinates> it = neighbourCoords.iterator();
-        while (it.hasNext()) {
-        
-            neighbours.add(getCell(it.next()));
+        return mPathCache.getHits();
 
-        }
-        return neighbours;
+    }
+
+    /// Get the number of path queries that required an A* search.
+    /// \return the number of cache misses.
+    public long getPathCacheMisses() {
+
+        return mPathCache.getMisses();
 
     }
 
-    /// Get the shortest path from one coordinate to another.
-    /// \param start starting cell coordinates.
-    /// \param goal goal cell coordinates.
-    /// \return a list of coordinates to follow for the shortest path to the goal
-    ///         or null if no path exists.
-    public ArrayList<Coordinates> getShortestPath(Coordinates start, Coordinates goal) {
+    /// Get the number of cells expanded by every A* search so far.
+    /// \return the number of cells expanded.
+    public long getPathNodesExpanded() {
 
-        assert checkValid(start);
-        assert checkValid(goal);
+        return mPathFinder.getExpanded();
 
-        // Evaluated coordinates.
-        HashSet<Coordinates> evaluated = new HashSet<Coordinates>();
+    }
 
-        // Previous step to reach a cell.
-        HashMap<Coordinates, Coordinates> previousStep = new HashMap<Coordinates, Coordinates>();
+    /// Get the flow field leading to a goal, rebuilding it only if the goal
+    /// or asteroid layout has changed since it was last built.
+    /// \param goalId packed id of the goal cell.
+    /// \return flow field leading to the goal.
+    public FlowField getFlowField(int goalId) {
 
-        // Cost of reaching a cell.
-        HashMap<Coordinates, Float> baseCost = new HashMap<Coordinates, Float>();
-        baseCost.put(start, 0f);
+        assert checkValid(goalId);
 
-        // Unevaluated coordinates with baseCost + admissable heuristic (Directly to the goal).
-        PriorityQueue<PathData> unevaluated = new PriorityQueue<PathData>(11, new PathComparator());
-        unevaluated.add(new PathData(start, start.distance(goal)));
+        mFlowField.update(goalId, mObstacleEpoch);
+        return mFlowField;
 
-        boolean found = false;
-        Coordinates current = null;
+    }
 
-        // Search until goal found or no more cells to evaluate.
-        while (!found && unevaluated.peek() != null) {
+    /// Record that an asteroid has entered or left a cell.
+    public void markObstaclesChanged() {
 
-            // Get lowest cost unevaluated nodes.
-            current = unevaluated.poll().coords;
-            found = current.equals(goal);
+        ++mObstacleEpoch;
 
-            // If it is not goal and a better path has not been evaluated already
-            // then evaluate its neighbours.
-            if (!found && !evaluated.contains(current)) {
+    }
 
-                evaluated.add(current);  
-                ArrayList<Coordinates> neighbours = getNeighbourCoords(current);
-                Iterator<Coordinates> it = neighbours.iterator();
+    /// Record an asteroid entering a cell.
+    /// \param cellId packed id of the cell entered.
+    public void addObstacle(int cellId) {
 
-                // Evaluate neighbours.
-                while (it.hasNext()) {
+        if (mObstacleCounts[cellId]++ == 0) {
 
-                    Coordinates n = it.next();
+            mBlocked[cellId >> 6] |= 1L << cellId;
 
-                    // Skip already evaluated cells and those that contain asteroids.
-                    // Unless that cell is the goal.
-                    if (!evaluated.contains(n) && 
-                        (mCells[n.x][n.y].asteroids.isEmpty() || n.equals(goal))) {
+        }
 
-                        float g = baseCost.get(current) + current.distance(n);
-                        if (!baseCost.containsKey(n) || baseCost.get(n) > g) {
+    }
 
-                            baseCost.put(n, g); 
-                            previousStep.put(n, current);
-                            float f = g + n.distance(goal);
-                            unevaluated.add(new PathData(n, f));
+    /// Record an asteroid leaving a cell.
+    /// \param cellId packed id of the cell left.
+    public void removeObstacle(int cellId) {
 
-                        }
+        assert mObstacleCounts[cellId] > 0;
+        if (--mObstacleCounts[cellId] == 0) {
 
-                    }
+            mBlocked[cellId >> 6] &= ~(1L << cellId);
 
-                }
+        }
 
+    }
 
-            }
+    /// Check whether a cell blocks navigation.
+    /// \param cellId packed id of the cell to check.
+    /// \return whether the cell contains asteroids.
+    public boolean isBlocked(int cellId) {
 
+        return (mBlocked[cellId >> 6] & (1L << cellId)) != 0L;
 
-        }
+    }
+
+    /// Record that an object has moved from one cell to another.
+    public void recordCrossing() {
 
-        // Reconstruct path if a path was found.
-        if (found) {
+        ++mCrossings;
 
-            ArrayList<Coordinates> path = new ArrayList<Coordinates>();
-            while (current != null) {
+    }
 
-                path.add(0, current);
-                current = previousStep.get(current);
+    /// Get the total number of cell crossings so far.
+    /// \return the number of times objects have changed cell.
+    public long getCrossings() {
 
-            }
-            return path;
+        return mCrossings;
 
-        }
+    }
+
+    /// Check a packed cell id is valid.
+    /// \param cellId packed id to check.
+    /// \return whether the id refers to a cell in the grid.
+    private boolean checkValid(int cellId) {
 
-        return null;
+        return cellId >= 0 && cellId < mCells.length * mCells[0].length;
 
     }
 
@@ -0,0 +1,97 @@
+package grid;
+
+/// Path through the grid stored as packed cell ids with a read cursor.
+/// The backing array is reused between searches so refilling a path does
+/// not allocate once it has grown to the longest path needed.
+public class Path {
+
+    /// Packed cell ids making up the path, from start to goal.
+    private int[] mCells;
+
+    /// Number of cells in the path.
+    private int mLength;
+
+    /// Index of the next cell to follow.
+    private int mCursor;
+
+    /// Initialise an empty path.
+    public Path() {
+
+        mCells = new int[0];
+        mLength = 0;
+        mCursor = 0;
+
+    }
+
+    /// Check whether there are any cells left to follow.
+    /// \return whether the path has been fully followed or is empty.
+    public boolean isEmpty() {
+
+        return mCursor >= mLength;
+
+    }
+
+    /// Get the number of cells left to follow.
+    /// \return the number of remaining cells.
+    public int remaining() {
+
+        return mLength - mCursor;
+
+    }
+
+    /// Get the next cell to follow without moving the cursor.
+    /// \return the packed id of the next cell in the path.
+    public int peek() {
+
+        assert !isEmpty();
+        return mCells[mCursor];
+
+    }
+
+    /// Move the cursor on to the following cell.
+    public void advance() {
+
+        assert !isEmpty();
+        ++mCursor;
+
+    }
+
+    /// Remove all cells from the path.
+    public void clear() {
+
+        mLength = 0;
+        mCursor = 0;
+
+    }
+
+    /// Get the total number of cells in the path, ignoring the cursor.
+    int getLength() {
+
+        return mLength;
+
+    }
+
+    /// Get the backing array of cells (only the first getLength() are valid).
+    int[] getCells() {
+
+        return mCells;
+
+    }
+
+    /// Reset the path to hold a number of cells, growing storage if needed.
+    /// \param length the number of cells the path will hold.
+    /// \return the backing array to write cells into.
+    int[] reset(int length) {
+
+        if (mCells.length < length) {
+
+            mCells = new int[length];
+
+        }
+        mLength = length;
+        mCursor = 0;
+        return mCells;
+
+    }
+
+}
@@ -0,0 +1,153 @@
+package grid;
+
+/// Bounded least recently used cache of shortest paths keyed by start and
+/// goal cell. Entries are tagged with the obstacle epoch they were found in
+/// and are ignored once the asteroid layout has changed. Storage is
+/// preallocated so lookups and stores do not allocate.
+class PathCache {
+
+    /// Marks an unused entry.
+    private static final long EMPTY = -1L;
+
+    /// Start and goal cell ids packed into one key per entry.
+    private final long[] mKeys;
+
+    /// Obstacle epoch each entry was stored in.
+    private final int[] mEpochs;
+
+    /// Cells of each cached path (-1 length means no path exists).
+    private final int[][] mCells;
+    private final int[] mLengths;
+
+    /// Time each entry was last used, for eviction.
+    private final long[] mLastUsed;
+
+    /// Counter used to order entry usage.
+    private long mClock;
+
+    /// Number of queries answered from the cache.
+    private long mHits;
+
+    /// Number of queries that required a search.
+    private long mMisses;
+
+    /// Initialise the cache.
+    /// \param capacity maximum number of paths to cache.
+    /// \param cells number of cells in the grid (longest possible path).
+    PathCache(int capacity, int cells) {
+
+        mKeys = new long[capacity];
+        mEpochs = new int[capacity];
+        mCells = new int[capacity][cells];
+        mLengths = new int[capacity];
+        mLastUsed = new long[capacity];
+        for (int i = 0; i < capacity; ++i) {
+
+            mKeys[i] = EMPTY;
+
+        }
+        mClock = 0;
+        mHits = 0;
+        mMisses = 0;
+
+    }
+
+    /// Get the number of queries answered from the cache.
+    long getHits() {
+
+        return mHits;
+
+    }
+
+    /// Get the number of queries that required a search.
+    long getMisses() {
+
+        return mMisses;
+
+    }
+
+    /// Look up a cached path, counting the hit or miss.
+    /// \param start packed id of the starting cell.
+    /// \param goal packed id of the goal cell.
+    /// \param epoch the grid's current obstacle epoch.
+    /// \param path path to fill with the cached cells on a hit.
+    /// \return whether the query was answered from the cache.
+    boolean lookup(int start, int goal, int epoch, Path path) {
+
+        long key = pack(start, goal);
+        for (int i = 0; i < mKeys.length; ++i) {
+
+            if (mKeys[i] == key && mEpochs[i] == epoch) {
+
+                mLastUsed[i] = ++mClock;
+                ++mHits;
+                if (mLengths[i] < 0) {
+
+                    path.clear();
+
+                } else {
+
+                    System.arraycopy(mCells[i], 0, path.reset(mLengths[i]), 0, mLengths[i]);
+
+                }
+                return true;
+
+            }
+
+        }
+        ++mMisses;
+        return false;
+
+    }
+
+    /// Store the result of a search, replacing a stale or the least recently
+    /// used entry.
+    /// \param start packed id of the starting cell.
+    /// \param goal packed id of the goal cell.
+    /// \param epoch the obstacle epoch the search ran in.
+    /// \param path the path found (ignored if found is false).
+    /// \param found whether a path was found.
+    void store(int start, int goal, int epoch, Path path, boolean found) {
+
+        int slot = 0;
+        for (int i = 0; i < mKeys.length; ++i) {
+
+            // Prefer entries that can no longer be hit.
+            if (mKeys[i] == EMPTY || mEpochs[i] != epoch) {
+
+                slot = i;
+                break;
+
+            }
+            if (mLastUsed[i] < mLastUsed[slot]) {
+
+                slot = i;
+
+            }
+
+        }
+
+        mKeys[slot] = pack(start, goal);
+        mEpochs[slot] = epoch;
+        mLastUsed[slot] = ++mClock;
+        if (found) {
+
+            mLengths[slot] = path.getLength();
+            System.arraycopy(path.getCells(), 0, mCells[slot], 0, mLengths[slot]);
+
+        } else {
+
+            mLengths[slot] = -1;
+
+        }
+
+    }
+
+    /// Pack a start and goal cell into a single key.
+    private static long pack(int start, int goal) {
+
+        return ((long)start << 32) | (goal & 0xffffffffL);
+
+    }
+
+}
@@ -0,0 +1,203 @@
+package grid;
+
+import java.util.Arrays;
+
+/// A* search over packed cell ids. All working storage is sized to the grid
+/// once and reused, with generation stamps marking which entries belong to
+/// the current search so nothing needs clearing between searches.
+class PathFinder {
+
+    /// Cost of moving to a diagonal neighbour.
+    static final float DIAGONAL_COST = (float)Math.sqrt(2.0);
+
+    /// Grid being searched.
+    private final Grid mGrid;
+
+    /// Dimensions of the grid in cells.
+    private final int mColumns;
+    private final int mRows;
+
+    /// Cost of reaching each cell.
+    private final float[] mBaseCost;
+
+    /// Previous step to reach each cell.
+    private final int[] mPrevious;
+
+    /// Generation in which each cell was first reached.
+    private final int[] mSeen;
+
+    /// Generation in which each cell was evaluated (closed set).
+    private final int[] mClosed;
+
+    /// Open cells ordered by base cost plus heuristic.
+    private final CellHeap mOpen;
+
+    /// Current search generation.
+    private int mGeneration;
+
+    /// Total number of cells evaluated by every search.
+    private long mExpanded;
+
+    /// Initialise storage for searching a grid.
+    /// \param grid the grid to search.
+    PathFinder(Grid grid) {
+
+        mGrid = grid;
+        mColumns = grid.getColumns();
+        mRows = grid.getRows();
+
+        int cells = mColumns * mRows;
+        mBaseCost = new float[cells];
+        mPrevious = new int[cells];
+        mSeen = new int[cells];
+        mClosed = new int[cells];
+        mOpen = new CellHeap(cells);
+        mGeneration = 0;
+        mExpanded = 0;
+
+    }
+
+    /// Find the shortest path between two cells.
+    /// \param start packed id of the starting cell.
+    /// \param goal packed id of the goal cell.
+    /// \param path path to fill with the cells to follow, including the start.
+    /// \return whether a path was found (the path is cleared if not).
+    boolean search(int start, int goal, Path path) {
+
+        nextGeneration();
+        mOpen.clear();
+
+        mSeen[start] = mGeneration;
+        mBaseCost[start] = 0f;
+        mPrevious[start] = -1;
+        mOpen.push(start, heuristic(start, goal));
+
+        boolean found = false;
+        while (!found && !mOpen.isEmpty()) {
+
+            // Get lowest cost open cell.
+            int current = mOpen.pop();
+            found = current == goal;
+            if (!found) {
+
+                mClosed[current] = mGeneration;
+                expand(current, goal);
+                ++mExpanded;
+
+            }
+
+        }
+
+        if (!found) {
+
+            path.clear();
+            return false;
+
+        }
+
+        // Count steps then write the path backwards from the goal.
+        int length = 0;
+        for (int cell = goal; cell != -1; cell = mPrevious[cell]) {
+
+            ++length;
+
+        }
+        int[] cells = path.reset(length);
+        for (int cell = goal; cell != -1; cell = mPrevious[cell]) {
+
+            cells[--length] = cell;
+
+        }
+        return true;
+
+    }
+
+    /// Get the total number of cells evaluated by every search so far.
+    /// \return the number of cells expanded.
+    long getExpanded() {
+
+        return mExpanded;
+
+    }
+
+    /// Evaluate the neighbours of a cell.
+    /// \param current packed id of the cell being evaluated.
+    /// \param goal packed id of the goal cell.
+    private void expand(int current, int goal) {
+
+        int x = current % mColumns;
+        int y = current / mColumns;
+        float currentCost = mBaseCost[current];
+
+        for (int dy = -1; dy <= 1; ++dy) {
+
+            int ny = y + dy;
+            if (ny < 0 || ny >= mRows) {
+
+                continue;
+
+            }
+            for (int dx = -1; dx <= 1; ++dx) {
+
+                int nx = x + dx;
+                if ((dx == 0 && dy == 0) || nx < 0 || nx >= mColumns) {
+
+                    continue;
+
+                }
+                int n = ny * mColumns + nx;
+
+                // Skip already evaluated cells and those that contain asteroids.
+                // Unless that cell is the goal.
+                if (mClosed[n] == mGeneration || (n != goal && mGrid.isBlocked(n))) {
+
+                    continue;
+
+                }
+
+                float g = currentCost + ((dx != 0 && dy != 0) ? DIAGONAL_COST : 1f);
+                if (mSeen[n] != mGeneration) {
+
+                    mSeen[n] = mGeneration;
+                    mBaseCost[n] = g;
+                    mPrevious[n] = current;
+                    mOpen.push(n, g + heuristic(n, goal));
+
+                } else if (g < mBaseCost[n]) {
+
+                    mBaseCost[n] = g;
+                    mPrevious[n] = current;
+                    mOpen.decrease(n, g + heuristic(n, goal));
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /// Admissible heuristic (straight line distance between cells).
+    private float heuristic(int cell, int goal) {
+
+        float dx = (cell % mColumns) - (goal % mColumns);
+        float dy = (cell / mColumns) - (goal / mColumns);
+        return (float)Math.sqrt(dx * dx + dy * dy);
+
+    }
+
+    /// Start a new search generation, clearing stamps if the counter wraps.
+    private void nextGeneration() {
+
+        ++mGeneration;
+        if (mGeneration == Integer.MAX_VALUE) {
+
+            Arrays.fill(mSeen, 0);
+            Arrays.fill(mClosed, 0);
+            mGeneration = 1;
+
+        }
+
+    }
+
+}
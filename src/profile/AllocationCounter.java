@@ -0,0 +1,43 @@
+package profile;
+
+import java.lang.management.ManagementFactory;
+import com.sun.management.ThreadMXBean;
+
+/// Reads the total bytes allocated by the current thread. Kept apart from
+/// the profiler so the management classes are only loaded once profiling is
+/// turned on.
+class AllocationCounter {
+
+    /// Source of per thread allocation totals.
+    private final ThreadMXBean mThreads;
+
+    /// Whether the JVM can report allocation per thread.
+    private final boolean mSupported;
+
+    /// Initialise, enabling allocation accounting if it is supported.
+    AllocationCounter() {
+
+        mThreads = ManagementFactory.getPlatformMXBean(ThreadMXBean.class);
+        mSupported = mThreads != null && mThreads.isThreadAllocatedMemorySupported();
+        if (mSupported && !mThreads.isThreadAllocatedMemoryEnabled()) {
+
+            mThreads.setThreadAllocatedMemoryEnabled(true);
+
+        }
+
+    }
+
+    /// Get the total bytes the current thread has allocated.
+    /// \return the bytes allocated, or -1 if this is not supported.
+    long getBytes() {
+
+        if (!mSupported) {
+
+            return -1;
+
+        }
+        return mThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+
+    }
+
+}
@@ -0,0 +1,350 @@
+package profile;
+
+import java.util.Arrays;
+import grid.Grid;
+import event.EventChannel;
+import scene.LodPolicy;
+
+/// Times each part of a play tick and keeps rolling averages and maxima over
+/// the last two seconds, along with the A* work, cell changes and bytes
+/// allocated each tick and the number of events dropped, to show which
+/// subsystem causes a stutter. Managers are timed both when updated and when
+/// captured for rendering, since capturing is the rendering work each
+/// manager does; drawing the snapshot is a single pass on the animation
+/// thread.
+///
+/// While disabled every call returns after checking a flag, so the clock is
+/// not read and no report is built. Allocation is that of the simulation
+/// thread, so steering done in parallel by other threads is not included.
+public class FrameProfiler {
+
+    // Parts of a tick.
+    public static final int SHIP = 0;
+    public static final int TURRET = 1;
+    public static final int PROJECTILES = 2;
+    public static final int ASTEROIDS = 3;
+    public static final int POWER_UPS = 4;
+    public static final int RANDOM = 5;
+    public static final int CHASERS = 6;
+    public static final int FLOCKERS = 7;
+    public static final int GHOSTS = 8;
+    public static final int MOVEMENT = 9;
+    public static final int COLLISIONS = 10;
+
+    /// Number of parts of a tick.
+    private static final int SECTIONS = 11;
+
+    /// Number of parts also timed when captured (those before MOVEMENT).
+    private static final int CAPTURED = MOVEMENT;
+
+    /// Name of each part shown in the report.
+    private static final String[] NAMES = {
+        "ship", "turret", "lasers", "asteroids", "powerups",
+        "random", "chasers", "flockers", "ghosts", "movement", "collisions"
+    };
+
+    /// Number of ticks the statistics cover.
+    private static final int WINDOW = 120;
+
+    /// Ticks between rebuilds of the report.
+    private static final int REPORT_TICKS = 30;
+
+    /// Whether profiling is enabled.
+    private boolean mEnabled;
+
+    /// Time spent on each part in the current tick, in nanoseconds.
+    private final long[] mUpdateTimes;
+    private final long[] mCaptureTimes;
+
+    /// Rolling statistics for each part.
+    private final RollingStat[] mUpdateStats;
+    private final RollingStat[] mCaptureStats;
+
+    /// Rolling statistics for A* searches, cells expanded, objects changing
+    /// cell and bytes allocated per tick.
+    private final RollingStat mSearches;
+    private final RollingStat mExpanded;
+    private final RollingStat mCrossings;
+    private final RollingStat mAllocated;
+
+    /// Number of objects of each part (-1 if not counted).
+    private final int[] mCounts;
+
+    /// Number of objects updated in each level of detail band.
+    private final int[] mLodCounts;
+
+    /// Number of events overwritten before a subscription read them.
+    private long mDroppedEvents;
+
+    /// Grid and totals at the start of the current tick, so the totals can
+    /// be turned into amounts per tick.
+    private Grid mGrid;
+    private long mLastSearches;
+    private long mLastExpanded;
+    private long mLastCrossings;
+    private long mLastAllocated;
+
+    /// Reads allocation totals (null until profiling is first enabled).
+    private AllocationCounter mAllocation;
+
+    /// Number of ticks started since profiling was enabled.
+    private int mTicks;
+
+    /// Initialise disabled.
+    public FrameProfiler() {
+
+        mEnabled = false;
+        mUpdateTimes = new long[SECTIONS];
+        mCaptureTimes = new long[SECTIONS];
+        mUpdateStats = new RollingStat[SECTIONS];
+        mCaptureStats = new RollingStat[SECTIONS];
+        for (int i = 0; i < SECTIONS; ++i) {
+
+            mUpdateStats[i] = new RollingStat(WINDOW);
+            mCaptureStats[i] = new RollingStat(WINDOW);
+
+        }
+        mSearches = new RollingStat(WINDOW);
+        mExpanded = new RollingStat(WINDOW);
+        mCrossings = new RollingStat(WINDOW);
+        mAllocated = new RollingStat(WINDOW);
+        mCounts = new int[SECTIONS];
+        mLodCounts = new int[LodPolicy.BAND_COUNT];
+        mAllocation = null;
+        clear();
+
+    }
+
+    /// \return whether profiling is enabled.
+    public boolean isEnabled() {
+
+        return mEnabled;
+
+    }
+
+    /// Enable profiling if disabled and disable it if enabled. Statistics
+    /// start again each time profiling is enabled.
+    public void toggle() {
+
+        mEnabled = !mEnabled;
+        if (mEnabled) {
+
+            if (mAllocation == null) {
+
+                mAllocation = new AllocationCounter();
+
+            }
+            clear();
+
+        }
+
+    }
+
+    /// Start timing a tick's parts.
+    /// \return the current time, or 0 without reading the clock if disabled.
+    public long start() {
+
+        return mEnabled ? System.nanoTime() : 0;
+
+    }
+
+    /// Record the time spent updating a part.
+    /// \param section the part that was updated.
+    /// \param start the time the update started.
+    /// \return the current time to time the next part from (0 if disabled).
+    public long lapUpdate(int section, long start) {
+
+        if (!mEnabled) {
+
+            return 0;
+
+        }
+        long now = System.nanoTime();
+        mUpdateTimes[section] = now - start;
+        return now;
+
+    }
+
+    /// Record the time spent capturing a part for rendering.
+    /// \param section the part that was captured (before MOVEMENT).
+    /// \param start the time the capture started.
+    /// \return the current time to time the next part from (0 if disabled).
+    public long lapCapture(int section, long start) {
+
+        if (!mEnabled) {
+
+            return 0;
+
+        }
+        long now = System.nanoTime();
+        mCaptureTimes[section] = now - start;
+        return now;
+
+    }
+
+    /// Set the number of objects of a part shown in the report.
+    /// \param section the part the objects belong to.
+    /// \param count the number of objects.
+    public void setCount(int section, int count) {
+
+        mCounts[section] = count;
+
+    }
+
+    /// Set the number of objects in each level of detail band shown in the
+    /// report.
+    /// \param lod the policy that put the objects in bands last tick.
+    public void setLodCounts(LodPolicy lod) {
+
+        for (int i = 0; i < LodPolicy.BAND_COUNT; ++i) {
+
+            mLodCounts[i] = lod.getCount(i);
+
+        }
+
+    }
+
+    /// Set the number of dropped events shown in the report.
+    /// \param events the channel the game's events are published to.
+    public void setEvents(EventChannel events) {
+
+        mDroppedEvents = events.getDropped();
+
+    }
+
+    /// Finish the previous tick, adding its times, A* work, cell changes and
+    /// allocation to the rolling statistics, then start a new tick. Called at
+    /// the start of each play tick.
+    /// \param grid the grid objects move through and paths are searched on.
+    /// \return whether the report is due to be rebuilt (never if disabled).
+    public boolean beginTick(Grid grid) {
+
+        if (!mEnabled) {
+
+            return false;
+
+        }
+
+        long searches = grid.getPathCacheMisses();
+        long expanded = grid.getPathNodesExpanded();
+        long crossings = grid.getCrossings();
+        long allocated = mAllocation.getBytes();
+
+        // Skip the first tick and ticks after the game restarts with a new
+        // grid, since neither has a full previous tick to add.
+        if (mTicks > 0 && grid == mGrid) {
+
+            for (int i = 0; i < SECTIONS; ++i) {
+
+                mUpdateStats[i].add(mUpdateTimes[i]);
+                mCaptureStats[i].add(mCaptureTimes[i]);
+
+            }
+            mSearches.add(searches - mLastSearches);
+            mExpanded.add(expanded - mLastExpanded);
+            mCrossings.add(crossings - mLastCrossings);
+            mAllocated.add(allocated - mLastAllocated);
+
+        }
+        Arrays.fill(mUpdateTimes, 0);
+        Arrays.fill(mCaptureTimes, 0);
+        mGrid = grid;
+        mLastSearches = searches;
+        mLastExpanded = expanded;
+        mLastCrossings = crossings;
+        mLastAllocated = allocated;
+        ++mTicks;
+        return mTicks % REPORT_TICKS == 0;
+
+    }
+
+    /// Build a report of the rolling statistics. Allocation while building
+    /// the report is left out of the current tick's total.
+    /// \return the report text.
+    public String getReport() {
+
+        StringBuilder report = new StringBuilder();
+        report.append("average / max over ").append(WINDOW).append(" ticks (ms)");
+        for (int i = 0; i < SECTIONS; ++i) {
+
+            report.append('\n').append(NAMES[i]);
+            if (mCounts[i] >= 0) {
+
+                report.append(" (").append(mCounts[i]).append(')');
+
+            }
+            report.append(": update ");
+            appendTimes(report, mUpdateStats[i]);
+            if (i < CAPTURED) {
+
+                report.append(", capture ");
+                appendTimes(report, mCaptureStats[i]);
+
+            }
+
+        }
+        report.append(String.format("%nLOD bands: %d near, %d mid, %d far",
+                                     mLodCounts[LodPolicy.NEAR],
+                                     mLodCounts[LodPolicy.MID],
+                                     mLodCounts[LodPolicy.FAR]));
+        report.append(String.format("%nA*: %.1f / %d searches, %.0f / %d cells per tick",
+                                     mSearches.getAverage(), mSearches.getMax(),
+                                     mExpanded.getAverage(), mExpanded.getMax()));
+        report.append(String.format("%ncell changes: %.1f / %d per tick",
+                                     mCrossings.getAverage(), mCrossings.getMax()));
+        report.append("\nevents dropped: ").append(mDroppedEvents);
+        if (mLastAllocated < 0) {
+
+            report.append("\nallocated: unavailable");
+
+        } else {
+
+            report.append(String.format("%nallocated: %.1f / %.1f KB per tick",
+                                         mAllocated.getAverage() / 1024.0,
+                                         mAllocated.getMax() / 1024.0));
+
+        }
+
+        String text = report.toString();
+        if (mLastAllocated >= 0) {
+
+            mLastAllocated = mAllocation.getBytes();
+
+        }
+        return text;
+
+    }
+
+    /// Append the average and maximum of a part's times in milliseconds.
+    /// \param report the report to append to.
+    /// \param stat the part's times in nanoseconds.
+    private void appendTimes(StringBuilder report, RollingStat stat) {
+
+        report.append(String.format("%.2f / %.2f", stat.getAverage() / 1e6, stat.getMax() / 1e6));
+
+    }
+
+    /// Remove every statistic and count, starting again from the next tick.
+    private void clear() {
+
+        Arrays.fill(mUpdateTimes, 0);
+        Arrays.fill(mCaptureTimes, 0);
+        for (int i = 0; i < SECTIONS; ++i) {
+
+            mUpdateStats[i].clear();
+            mCaptureStats[i].clear();
+
+        }
+        mSearches.clear();
+        mExpanded.clear();
+        mCrossings.clear();
+        mAllocated.clear();
+        Arrays.fill(mCounts, -1);
+        Arrays.fill(mLodCounts, 0);
+        mDroppedEvents = 0;
+        mGrid = null;
+        mTicks = 0;
+
+    }
+
+}
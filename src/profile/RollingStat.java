@@ -0,0 +1,75 @@
+package profile;
+
+/// Rolling average and maximum of the most recent samples of a value.
+class RollingStat {
+
+    /// Most recent samples, oldest overwritten first.
+    private final long[] mSamples;
+
+    /// Index the next sample is written to.
+    private int mNext;
+
+    /// Number of samples held (up to the window size).
+    private int mCount;
+
+    /// Sum of the samples held.
+    private long mSum;
+
+    /// Initialise with no samples.
+    /// \param window number of samples to keep.
+    RollingStat(int window) {
+
+        mSamples = new long[window];
+        clear();
+
+    }
+
+    /// Remove every sample.
+    void clear() {
+
+        mNext = 0;
+        mCount = 0;
+        mSum = 0;
+
+    }
+
+    /// Add a sample, replacing the oldest if the window is full.
+    /// \param sample the value to add.
+    void add(long sample) {
+
+        if (mCount == mSamples.length) {
+
+            mSum -= mSamples[mNext];
+
+        } else {
+
+            ++mCount;
+
+        }
+        mSamples[mNext] = sample;
+        mSum += sample;
+        mNext = (mNext + 1) % mSamples.length;
+
+    }
+
+    /// \return the average of the samples held (0 if there are none).
+    double getAverage() {
+
+        return mCount == 0 ? 0.0 : (double)mSum / mCount;
+
+    }
+
+    /// \return the largest sample held (0 if there are none).
+    long getMax() {
+
+        long max = 0;
+        for (int i = 0; i < mCount; ++i) {
+
+            max = Math.max(max, mSamples[i]);
+
+        }
+        return max;
+
+    }
+
+}
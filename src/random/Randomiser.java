@@ -3,6 +3,7 @@ package random;
 import processing.core.PVector;
 import java.util.Random;
 import rect.Rect;
+import transform.Vec2;
 
 /// Class managing random operations.
 public class Randomiser {
@@ -17,6 +18,14 @@ public class Randomiser {
 
     }
 
+    /// Seed the random number generator so that a run can be repeated.
+    /// \param seed the seed to use.
+    public static void setSeed(long seed) {
+
+        mRandom.setSeed(seed);
+
+    }
+
     /// Generate a random integer in the specified range.
     /// \param min the minimum value that can be generated.
     /// \param max the maximum value that can be generated.
@@ -48,4 +57,16 @@ public class Randomiser {
 
     }
 
+    /// Generate a random point in a rectangle without allocating.
+    /// \param bounds rectangle to generate a point within.
+    /// \param out vector to store the point in.
+    /// \return out, containing a random point within bounds.
+    public static Vec2 randomPoint(Rect bounds, Vec2 out) {
+
+        float x = randomFloat(bounds.x, bounds.x + bounds.width);
+        float y = randomFloat(bounds.y, bounds.y + bounds.height);
+        return out.set(x, y);
+
+    }
+
 }
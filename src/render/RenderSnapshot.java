@@ -0,0 +1,346 @@
+package render;
+
+import processing.core.PApplet;
+import processing.core.PConstants;
+import math.FastMath;
+import texture.Texture;
+
+/// Picture of everything drawn in the scene at the end of a simulation tick,
+/// captured by the simulation thread and rendered by the animation thread.
+/// Holds a list of transformation nodes, each relative to an optional parent
+/// node and storing both its transformation at the start of the tick and at
+/// the end so rendering can interpolate between them, followed by the
+/// textures and text to draw with them in order. A snapshot is only written
+/// while it is owned by the simulation thread and never changes once
+/// published, so it can be read without locking.
+public class RenderSnapshot {
+
+    /// Node index used for objects without a parent.
+    public static final int NO_NODE = -1;
+
+    /// Number of nodes and drawables the arrays can hold before growing.
+    private static final int INITIAL_CAPACITY = 256;
+
+    /// Time the snapshot was published, from System.nanoTime().
+    private long mTime;
+
+    /// Number of transformation nodes.
+    private int mNodeCount;
+
+    /// Transformation nodes as parallel arrays.
+    private int[] mParents;
+    private float[] mPreviousX;
+    private float[] mPreviousY;
+    private float[] mPreviousRotation;
+    private float[] mX;
+    private float[] mY;
+    private float[] mRotation;
+    private float[] mXScale;
+    private float[] mYScale;
+    private float[] mXOrigin;
+    private float[] mYOrigin;
+
+    /// Number of drawables.
+    private int mDrawableCount;
+
+    /// Drawables as parallel arrays of node, visibility and either a texture
+    /// and clip or text, size and alignment.
+    private int[] mNodes;
+    private boolean[] mVisible;
+    private Texture[] mTextures;
+    private int[] mClips;
+    private String[] mTexts;
+    private int[] mTextSizes;
+    private boolean[] mCentred;
+
+    /// Initialise an empty snapshot.
+    public RenderSnapshot() {
+
+        mTime = 0;
+        mNodeCount = 0;
+        mParents = new int[INITIAL_CAPACITY];
+        mPreviousX = new float[INITIAL_CAPACITY];
+        mPreviousY = new float[INITIAL_CAPACITY];
+        mPreviousRotation = new float[INITIAL_CAPACITY];
+        mX = new float[INITIAL_CAPACITY];
+        mY = new float[INITIAL_CAPACITY];
+        mRotation = new float[INITIAL_CAPACITY];
+        mXScale = new float[INITIAL_CAPACITY];
+        mYScale = new float[INITIAL_CAPACITY];
+        mXOrigin = new float[INITIAL_CAPACITY];
+        mYOrigin = new float[INITIAL_CAPACITY];
+
+        mDrawableCount = 0;
+        mNodes = new int[INITIAL_CAPACITY];
+        mVisible = new boolean[INITIAL_CAPACITY];
+        mTextures = new Texture[INITIAL_CAPACITY];
+        mClips = new int[INITIAL_CAPACITY];
+        mTexts = new String[INITIAL_CAPACITY];
+        mTextSizes = new int[INITIAL_CAPACITY];
+        mCentred = new boolean[INITIAL_CAPACITY];
+
+    }
+
+    /// Remove every node and drawable so the snapshot can be written again.
+    public void clear() {
+
+        for (int i = 0; i < mDrawableCount; ++i) {
+
+            mTextures[i] = null;
+            mTexts[i] = null;
+
+        }
+        mNodeCount = 0;
+        mDrawableCount = 0;
+
+    }
+
+    /// Get the time the snapshot was published.
+    /// \return the publish time from System.nanoTime().
+    public long getTime() {
+
+        return mTime;
+
+    }
+
+    /// Set the time the snapshot was published.
+    /// \param time the publish time from System.nanoTime().
+    public void setTime(long time) {
+
+        mTime = time;
+
+    }
+
+    /// Get the number of drawables in the snapshot.
+    public int getDrawableCount() {
+
+        return mDrawableCount;
+
+    }
+
+    /// Add a transformation node.
+    /// \param parent index of the node this one is relative to or NO_NODE.
+    /// \param previousX x translation at the start of the tick.
+    /// \param previousY y translation at the start of the tick.
+    /// \param previousRotation rotation in degrees at the start of the tick.
+    /// \param x x translation at the end of the tick.
+    /// \param y y translation at the end of the tick.
+    /// \param rotation rotation in degrees at the end of the tick.
+    /// \param xScale scale on the x axis.
+    /// \param yScale scale on the y axis.
+    /// \param xOrigin x component of the origin drawables are offset by.
+    /// \param yOrigin y component of the origin drawables are offset by.
+    /// \return the index of the new node.
+    public int addNode(int parent,
+                       float previousX, float previousY, float previousRotation,
+                       float x, float y, float rotation,
+                       float xScale, float yScale,
+                       float xOrigin, float yOrigin) {
+
+        assert parent < mNodeCount;
+        if (mNodeCount == mParents.length) {
+
+            growNodes();
+
+        }
+        int index = mNodeCount++;
+        mParents[index] = parent;
+        mPreviousX[index] = previousX;
+        mPreviousY[index] = previousY;
+        mPreviousRotation[index] = previousRotation;
+        mX[index] = x;
+        mY[index] = y;
+        mRotation[index] = rotation;
+        mXScale[index] = xScale;
+        mYScale[index] = yScale;
+        mXOrigin[index] = xOrigin;
+        mYOrigin[index] = yOrigin;
+        return index;
+
+    }
+
+    /// Add a texture to draw with a node's transformation.
+    /// \param node index of the node to draw the texture with.
+    /// \param texture the texture to draw.
+    /// \param clip index of the texture clip to draw.
+    /// \param visible whether the texture is currently shown.
+    public void addSprite(int node, Texture texture, int clip, boolean visible) {
+
+        int index = addDrawable(node, visible);
+        mTextures[index] = texture;
+        mClips[index] = clip;
+
+    }
+
+    /// Add text to draw with a node's transformation.
+    /// \param node index of the node to draw the text with.
+    /// \param text the text to draw.
+    /// \param size the text size.
+    /// \param centred whether the text is centred on the node.
+    public void addText(int node, String text, int size, boolean centred) {
+
+        int index = addDrawable(node, true);
+        mTexts[index] = text;
+        mTextSizes[index] = size;
+        mCentred[index] = centred;
+
+    }
+
+    /// Draw every visible drawable in the order they were added.
+    /// \param core Processing core to use for rendering.
+    /// \param alpha fraction of the way from the start of the tick to the end
+    /// to interpolate transformations by.
+    public void render(PApplet core, float alpha) {
+
+        for (int i = 0; i < mDrawableCount; ++i) {
+
+            if (!mVisible[i]) {
+
+                continue;
+
+            }
+            int node = mNodes[i];
+            core.pushMatrix();
+            applyNode(core, node, alpha);
+            core.translate(-mXOrigin[node], -mYOrigin[node]);
+            if (mTextures[i] != null) {
+
+                mTextures[i].render(core, mClips[i]);
+
+            } else {
+
+                renderText(core, i);
+
+            }
+            core.popMatrix();
+
+        }
+
+    }
+
+    /// Translate, rotate and scale by the interpolated transformations of a
+    /// node's parents then the node itself, without offsetting by the origin.
+    /// \param core Processing core to use to carry out the transformation.
+    /// \param node index of the node to apply.
+    /// \param alpha fraction of the way from the start of the tick to the end.
+    private void applyNode(PApplet core, int node, float alpha) {
+
+        if (mParents[node] != NO_NODE) {
+
+            applyNode(core, mParents[node], alpha);
+
+        }
+        float previousX = mPreviousX[node];
+        float previousY = mPreviousY[node];
+        float previousRotation = mPreviousRotation[node];
+
+        // Rotate the short way round.
+        float turn = mRotation[node] - previousRotation;
+        if (turn > 180f) {
+
+            turn -= 360f;
+
+        } else if (turn < -180f) {
+
+            turn += 360f;
+
+        }
+        core.translate(previousX + (mX[node] - previousX) * alpha,
+                       previousY + (mY[node] - previousY) * alpha);
+        core.rotate((previousRotation + turn * alpha) * FastMath.DEGREES_TO_RADIANS);
+        core.scale(mXScale[node], mYScale[node]);
+
+    }
+
+    /// Draw a text drawable at the current origin.
+    /// \param core Processing core to use for rendering.
+    /// \param index index of the drawable.
+    private void renderText(PApplet core, int index) {
+
+        if (mCentred[index]) {
+
+            core.textAlign(PConstants.CENTER, PConstants.CENTER);
+
+        } else {
+
+            core.textAlign(PConstants.LEFT, PConstants.TOP);
+
+        }
+        core.textSize(mTextSizes[index]);
+        core.text(mTexts[index], 0f, 0f);
+
+    }
+
+    /// Add a drawable, growing the arrays if full.
+    /// \return the index of the new drawable.
+    private int addDrawable(int node, boolean visible) {
+
+        assert node >= 0 && node < mNodeCount;
+        if (mDrawableCount == mNodes.length) {
+
+            int capacity = mDrawableCount * 2;
+            mNodes = grow(mNodes, capacity);
+            mVisible = grow(mVisible, capacity);
+            mClips = grow(mClips, capacity);
+            mTextSizes = grow(mTextSizes, capacity);
+            mCentred = grow(mCentred, capacity);
+            Texture[] textures = new Texture[capacity];
+            System.arraycopy(mTextures, 0, textures, 0, mDrawableCount);
+            mTextures = textures;
+            String[] texts = new String[capacity];
+            System.arraycopy(mTexts, 0, texts, 0, mDrawableCount);
+            mTexts = texts;
+
+        }
+        int index = mDrawableCount++;
+        mNodes[index] = node;
+        mVisible[index] = visible;
+        mTextures[index] = null;
+        mTexts[index] = null;
+        return index;
+
+    }
+
+    /// Double the capacity of the node arrays.
+    private void growNodes() {
+
+        int capacity = mNodeCount * 2;
+        mParents = grow(mParents, capacity);
+        mPreviousX = grow(mPreviousX, capacity);
+        mPreviousY = grow(mPreviousY, capacity);
+        mPreviousRotation = grow(mPreviousRotation, capacity);
+        mX = grow(mX, capacity);
+        mY = grow(mY, capacity);
+        mRotation = grow(mRotation, capacity);
+        mXScale = grow(mXScale, capacity);
+        mYScale = grow(mYScale, capacity);
+        mXOrigin = grow(mXOrigin, capacity);
+        mYOrigin = grow(mYOrigin, capacity);
+
+    }
+
+    private static int[] grow(int[] array, int capacity) {
+
+        int[] grown = new int[capacity];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+
+    }
+
+    private static float[] grow(float[] array, int capacity) {
+
+        float[] grown = new float[capacity];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+
+    }
+
+    private static boolean[] grow(boolean[] array, int capacity) {
+
+        boolean[] grown = new boolean[capacity];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+
+    }
+
+}
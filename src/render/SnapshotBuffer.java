@@ -0,0 +1,81 @@
+package render;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// Lock-free triple buffer handing render snapshots from one writer thread
+/// to one reader thread. The writer always has a snapshot of its own to fill
+/// and the reader a snapshot of its own to draw, and the third holds the most
+/// recently published snapshot. Publishing and acquiring swap a thread's
+/// snapshot with the third, so neither thread ever waits for the other and
+/// the reader always gets the latest complete snapshot.
+public class SnapshotBuffer {
+
+    /// Bit set in mLatest when it holds a snapshot the reader has not taken.
+    private static final int FRESH = 4;
+
+    /// Bits of mLatest holding a snapshot index.
+    private static final int INDEX_MASK = 3;
+
+    /// The three snapshots.
+    private final RenderSnapshot[] mSnapshots;
+
+    /// Index of the most recently published snapshot, with FRESH set if it
+    /// is newer than the reader's.
+    private final AtomicInteger mLatest;
+
+    /// Index of the snapshot owned by the writer.
+    private int mWrite;
+
+    /// Index of the snapshot owned by the reader.
+    private int mRead;
+
+    /// Initialise with three empty snapshots.
+    public SnapshotBuffer() {
+
+        mSnapshots = new RenderSnapshot[3];
+        for (int i = 0; i < mSnapshots.length; ++i) {
+
+            mSnapshots[i] = new RenderSnapshot();
+
+        }
+        mWrite = 0;
+        mLatest = new AtomicInteger(1);
+        mRead = 2;
+
+    }
+
+    /// Get the snapshot to fill. Only called by the writer.
+    /// \return the writer's snapshot, cleared.
+    public RenderSnapshot beginWrite() {
+
+        RenderSnapshot snapshot = mSnapshots[mWrite];
+        snapshot.clear();
+        return snapshot;
+
+    }
+
+    /// Publish the writer's snapshot as the latest and take the previous
+    /// latest to fill next. Only called by the writer.
+    public void publish() {
+
+        mSnapshots[mWrite].setTime(System.nanoTime());
+        mWrite = mLatest.getAndSet(mWrite | FRESH) & INDEX_MASK;
+
+    }
+
+    /// Get the latest published snapshot. Only called by the reader. The
+    /// snapshot stays valid until the next call.
+    /// \return the latest snapshot, or the previous one if nothing newer has
+    ///         been published.
+    public RenderSnapshot acquire() {
+
+        if ((mLatest.get() & FRESH) != 0) {
+
+            mRead = mLatest.getAndSet(mRead) & INDEX_MASK;
+
+        }
+        return mSnapshots[mRead];
+
+    }
+
+}
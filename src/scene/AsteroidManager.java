@@ -2,8 +2,10 @@ package scene;
 
 import processing.core.PVector;
 import gameobject.Asteroid;
+import gameobject.EntityStore;
 import grid.Grid;
 import texture.Texture;
+import transform.Vec2;
 
 /// Spawns, updates and renders asteroids.
 public class AsteroidManager extends SpawnManager<Asteroid> {
@@ -11,18 +13,24 @@ public class AsteroidManager extends SpawnManager<Asteroid> {
     /// Speed constant to use for asteroids.
     private static final float ASTEROID_SPEED = 20f;
 
-    /// Texture to use for asteroids.
-    private final Texture mAsteroidTexture;
+    /// Maximum number of released asteroids kept for reuse.
+    private static final int POOL_CAPACITY = 64;
 
-    /// Grid to put asteroids in.
-    private final Grid mGrid;
+    /// Released asteroids waiting to be reused.
+    private final Pool<Asteroid> mPool;
+
+    /// Scratch vectors for spawn positions and directions.
+    private final Vec2 mSpawn;
+    private final Vec2 mDirection;
 
     /// Initialise manager
-    public AsteroidManager(Texture asteroidTexture, Grid grid, float spawnInterval) {
+    public AsteroidManager(Texture asteroidTexture, Grid grid, EntityStore entities, float spawnInterval) {
 
         super(spawnInterval);
-        mAsteroidTexture = asteroidTexture;
-        mGrid = grid;
+        mPool = new Pool<Asteroid>(() -> new Asteroid(asteroidTexture, grid, entities, new PVector(0f, 0f)),
+                                   POOL_CAPACITY);
+        mSpawn = new Vec2();
+        mDirection = new Vec2();
 
     }
 
@@ -31,13 +39,27 @@ public class AsteroidManager extends SpawnManager<Asteroid> {
     /// \return spawned asteroid.
     protected Asteroid spawn() {
 
-        PVector velocity = new PVector(0f, 0f);
-        PVector spawn = Spawn.generateSpawnPoint(velocity);
-        velocity.mult(ASTEROID_SPEED);
-        Asteroid asteroid = new Asteroid(mAsteroidTexture, mGrid, velocity);
-        asteroid.setTranslation(spawn);
+        Spawn.generateSpawnPoint(mSpawn, mDirection);
+        Asteroid asteroid = mPool.obtain();
+        asteroid.reset(mDirection.x * ASTEROID_SPEED, mDirection.y * ASTEROID_SPEED);
+        asteroid.setTranslation(mSpawn);
         return asteroid;
 
     }
 
+    /// Return a destroyed asteroid to the pool.
+    /// \param asteroid the released asteroid.
+    protected void recycle(Asteroid asteroid) {
+
+        mPool.free(asteroid);
+
+    }
+
+    /// Get the pool of released asteroids.
+    public Pool<Asteroid> getPool() {
+
+        return mPool;
+
+    }
+
 }
@@ -0,0 +1,94 @@
+package scene;
+
+import java.util.function.Consumer;
+import gameobject.GridObject;
+
+/// Unordered list of game objects packed at the front of an array. Destroyed
+/// objects are removed together in a single compaction pass that moves the
+/// last object into each freed slot, so removing any number of objects costs
+/// one pass rather than shifting the tail once per removal. Indexing and size
+/// are constant time but the order of objects changes on compaction.
+public class DenseList<T extends GridObject> {
+
+    /// Number of objects the array can hold before growing.
+    private static final int INITIAL_CAPACITY = 64;
+
+    /// Objects in the list, packed from index 0.
+    private Object[] mObjects;
+
+    /// Number of objects in the list.
+    private int mSize;
+
+    /// Initialise an empty list.
+    public DenseList() {
+
+        mObjects = new Object[INITIAL_CAPACITY];
+        mSize = 0;
+
+    }
+
+    /// Get the number of objects in the list.
+    public int size() {
+
+        return mSize;
+
+    }
+
+    /// Get the object at an index.
+    /// \param index index of the object to get.
+    /// \return the object at the index.
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+
+        assert index >= 0 && index < mSize;
+        return (T)mObjects[index];
+
+    }
+
+    /// Add an object to the end of the list.
+    /// \param object the object to add.
+    public void add(T object) {
+
+        if (mSize == mObjects.length) {
+
+            Object[] objects = new Object[mSize * 2];
+            System.arraycopy(mObjects, 0, objects, 0, mSize);
+            mObjects = objects;
+
+        }
+        mObjects[mSize++] = object;
+
+    }
+
+    /// Remove every destroyed object in a single pass, filling each freed
+    /// slot with the last object in the list.
+    /// \param removed called with each removed object.
+    /// \return the number of objects removed.
+    @SuppressWarnings("unchecked")
+    public int compact(Consumer<? super T> removed) {
+
+        int count = 0;
+        int i = 0;
+        while (i < mSize) {
+
+            T object = (T)mObjects[i];
+            if (object.isDestroyed()) {
+
+                // Check the moved object on the next iteration.
+                mObjects[i] = mObjects[--mSize];
+                mObjects[mSize] = null;
+                removed.accept(object);
+                ++count;
+
+            } else {
+
+                ++i;
+
+            }
+
+        }
+        return count;
+
+    }
+
+}
@@ -1,14 +1,36 @@
 package scene;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Supplier;
-import processing.core.PVector;
 import gameobject.Enemy;
+import transform.Vec2;
+import math.FastMath;
 
 /// Manages spawning, updating and rendering of enemies.
+///
+/// When parallel updates are enabled and there are enough enemies, enemies
+/// are updated in two steps: every enemy plans serially (path finding and
+/// random numbers), then enemies are steered concurrently on the common
+/// ForkJoin pool, each writing only its own velocity and rotation while the
+/// rest of the world is only read. Movement, grid cells and collisions are
+/// then applied serially afterwards as usual. Planning happens in the same
+/// order as a serial update, so both give the same results for a seed.
 public class EnemyManager extends SpawnManager<Enemy> {
 
-    /// Factory to spawn enemies with.
-    private Supplier<Enemy> mFactory;
+    /// Fewest enemies worth steering in parallel.
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    /// Number of enemies steered by each parallel task.
+    private static final int PARALLEL_BATCH = 64;
+
+    /// Released enemies waiting to be reused, created with the manager's
+    /// factory when empty.
+    private final Pool<Enemy> mPool;
+
+    /// Scratch vectors for spawn positions and directions.
+    private final Vec2 mSpawn;
+    private final Vec2 mDirection;
 
     /// Base interval for spawning enemies.
     private final float mBaseInterval;
@@ -28,6 +50,15 @@ public class EnemyManager extends SpawnManager<Enemy> {
     /// Whether slow start bound build up is currently active.
     private boolean mSlowStart;
 
+    /// Whether the bound is pinned at the maximum.
+    private boolean mPinned;
+
+    /// Whether to steer enemies in parallel.
+    private boolean mParallel;
+
+    /// Time to update each enemy by this tick when updating in parallel.
+    private float[] mSteps;
+
     /// Initialise enemy manager.
     public EnemyManager(Supplier<Enemy> factory, 
                         float spawnInterval, 
@@ -35,21 +66,57 @@ public class EnemyManager extends SpawnManager<Enemy> {
                         int max) {
 
         super(spawnInterval + extraInterval);
-        mFactory = factory;
+        mPool = new Pool<Enemy>(factory, max);
+        mSpawn = new Vec2();
+        mDirection = new Vec2();
         mBaseInterval = spawnInterval;
         mExtraInterval = extraInterval;
         mMax = max;
         mBound = 0;
         mThreshold = max;
         mSlowStart = true;
+        mPinned = false;
+        mParallel = false;
+        mSteps = new float[0];
+
+    }
+
+    /// Set whether enemies are steered in parallel when there are many.
+    /// \param parallel whether to use parallel updates.
+    public void setParallel(boolean parallel) {
+
+        mParallel = parallel;
 
     }
 
 
+    /// Set whether the bound is pinned at the maximum, so enemies keep
+    /// spawning at the base interval up to the maximum instead of backing off
+    /// when the maximum is reached or the player is struggling. Used to hold
+    /// a fixed load.
+    /// \param pinned whether to pin the bound.
+    public void setPinned(boolean pinned) {
+
+        mPinned = pinned;
+        if (pinned) {
+
+            mBound = mMax;
+            mSpawnInterval = mBaseInterval;
+
+        }
+
+    }
+
     /// Reset bound and activate slow start. Used to limit enemy spawn rate when
     /// player is struggling.
     public void limitBound() {
 
+        if (mPinned) {
+
+            return;
+
+        }
+
         mThreshold = mBound / 2;
         mBound = 0;
         mSlowStart = true;
@@ -61,8 +128,12 @@ public class EnemyManager extends SpawnManager<Enemy> {
     /// fewer enemies than the current bound.
     protected Enemy spawn() {
 
-        adjustBound();
-        adjustSpawnRate();
+        if (!mPinned) {
+
+            adjustBound();
+            adjustSpawnRate();
+
+        }
         // Do not spawn enemy if number of enemies currently exceed bound.
         if (size() >= mBound) {
 
@@ -70,30 +141,90 @@ public class EnemyManager extends SpawnManager<Enemy> {
 
         }
 
-        // Generate spawn position and direction.
-        PVector direction = new PVector(0f, 0f);
-        PVector spawn = Spawn.generateSpawnPoint(direction);
-        Enemy enemy = mFactory.get();
-        enemy.setTranslation(spawn);
+        return spawnEnemy();
 
-        // Calculate enemy rotation.
-        float rotation = (float)Math.atan(direction.y / direction.x) * (180f / (float)Math.PI);
+    }
 
-        // Orientate rotation to match enemy.
-        if (direction.x >= 0f) {
+    /// Spawn enemies straight away, ignoring the spawn interval and bound,
+    /// until the manager holds a number of them. A hook for benchmarks to
+    /// hold a fixed load; the game itself only spawns through update. The
+    /// enemies are placed in the grid at once, so they can be updated, and
+    /// collide, in the next tick.
+    /// \param count the number of enemies to fill up to.
+    public void fill(int count) {
 
-            rotation += 90f;
+        while (size() < count) {
 
-        } else {
-
-            rotation += 270f;
+            Enemy enemy = spawnEnemy();
+            enemy.updateCell();
+            add(enemy);
 
         }
-        enemy.setRotation(rotation);
+
+    }
+
+    /// Take an enemy from the pool and place it at a random spawn point.
+    /// \return the spawned enemy.
+    private Enemy spawnEnemy() {
+
+        // Generate spawn position and direction.
+        Spawn.generateSpawnPoint(mSpawn, mDirection);
+        Enemy enemy = mPool.obtain();
+        enemy.reset();
+        enemy.setTranslation(mSpawn);
+
+        // Face the enemy along its spawn direction.
+        enemy.setRotation(FastMath.heading(mDirection.x, mDirection.y));
         return enemy;
 
     }
 
+    /// Return a destroyed enemy to the pool.
+    /// \param enemy the released enemy.
+    protected void recycle(Enemy enemy) {
+
+        mPool.free(enemy);
+
+    }
+
+    /// Get the pool of released enemies.
+    public Pool<Enemy> getPool() {
+
+        return mPool;
+
+    }
+
+
+    /// Update every enemy, steering them in parallel if enabled.
+    /// \param delta the time passed since the last update.
+    protected void updateObjects(float delta) {
+
+        if (!mParallel || size() < PARALLEL_THRESHOLD) {
+
+            super.updateObjects(delta);
+            return;
+
+        }
+
+        if (mSteps.length < size()) {
+
+            mSteps = new float[size() * 2];
+
+        }
+        for (int i = 0; i < size(); ++i) {
+
+            Enemy enemy = get(i);
+            mSteps[i] = getStep(enemy, delta);
+            if (mSteps[i] > 0f) {
+
+                enemy.updatePlan(mSteps[i]);
+
+            }
+
+        }
+        ForkJoinPool.commonPool().invoke(new SteerTask(0, size()));
+
+    }
 
     /// Adjust bound on enemies.
     private void adjustBound() {
@@ -146,4 +277,48 @@ public class EnemyManager extends SpawnManager<Enemy> {
 
     }
 
+    /// Task steering a range of enemies, split until small enough.
+    private class SteerTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /// Range of enemy indices to steer.
+        private final int mStart;
+        private final int mEnd;
+
+        /// Initialise task.
+        /// \param start index of the first enemy to steer.
+        /// \param end index after the last enemy to steer.
+        SteerTask(int start, int end) {
+
+            mStart = start;
+            mEnd = end;
+
+        }
+
+        /// Steer the enemies in range or split the range in two.
+        protected void compute() {
+
+            if (mEnd - mStart <= PARALLEL_BATCH) {
+
+                for (int i = mStart; i < mEnd; ++i) {
+
+                    if (mSteps[i] > 0f) {
+
+                        EnemyManager.this.get(i).updateSteering(mSteps[i]);
+
+                    }
+
+                }
+                return;
+
+            }
+            int middle = (mStart + mEnd) >>> 1;
+            invokeAll(new SteerTask(mStart, middle),
+                      new SteerTask(middle, mEnd));
+
+        }
+
+    }
+
 }
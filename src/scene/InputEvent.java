@@ -0,0 +1,78 @@
+package scene;
+
+/// Mouse or keyboard input recorded on the animation thread, to be handled
+/// by the scene on the simulation thread.
+public class InputEvent {
+
+    // Event types.
+    public static final int MOUSE_MOVE = 0;
+    public static final int MOUSE_PRESS = 1;
+    public static final int MOUSE_RELEASE = 2;
+    public static final int KEY_PRESS = 3;
+    public static final int KEY_RELEASE = 4;
+
+    /// The type of input.
+    private final int mType;
+
+    /// The mouse button for mouse presses and releases.
+    private final int mButton;
+
+    /// The key for key presses and releases.
+    private final char mKey;
+
+    /// The mouse position when the input happened.
+    private final float mX;
+    private final float mY;
+
+    /// Initialise event.
+    /// \param type the type of input.
+    /// \param button the mouse button pressed or released.
+    /// \param key the key pressed or released.
+    /// \param x x component of the mouse position.
+    /// \param y y component of the mouse position.
+    public InputEvent(int type, int button, char key, float x, float y) {
+
+        mType = type;
+        mButton = button;
+        mKey = key;
+        mX = x;
+        mY = y;
+
+    }
+
+    /// Get the type of input.
+    public int getType() {
+
+        return mType;
+
+    }
+
+    /// Get the mouse button pressed or released.
+    public int getButton() {
+
+        return mButton;
+
+    }
+
+    /// Get the key pressed or released.
+    public char getKey() {
+
+        return mKey;
+
+    }
+
+    /// Get the x component of the mouse position.
+    public float getX() {
+
+        return mX;
+
+    }
+
+    /// Get the y component of the mouse position.
+    public float getY() {
+
+        return mY;
+
+    }
+
+}
@@ -0,0 +1,130 @@
+package scene;
+
+import camera.Camera;
+import grid.Grid;
+import rect.Rect;
+
+/// Simulation level of detail based on distance from the camera's view.
+/// Each grid cell is put in a band by how many cells it lies outside the
+/// cells covering the view, and objects in further bands update their
+/// behaviour less often with the time they skipped accumulated. Movement
+/// and collisions are still handled every tick for every object, so distant
+/// objects move and collide with each other as before, and an object goes
+/// back to updating every tick as soon as it is near the view again.
+public class LodPolicy {
+
+    // Bands.
+    public static final int NEAR = 0;
+    public static final int MID = 1;
+    public static final int FAR = 2;
+    public static final int BAND_COUNT = 3;
+
+    /// Largest number of cells outside the view for the near and mid bands.
+    private static final int NEAR_CELLS = 0;
+    private static final int MID_CELLS = 1;
+
+    /// Number of ticks between updates in each band.
+    private static final int[] INTERVALS = {1, 2, 4};
+
+    /// Grid whose cells are put in bands.
+    private final Grid mGrid;
+
+    /// Band of each cell.
+    private final int[] mBands;
+
+    /// Number of objects classified into each band this tick.
+    private final int[] mCounts;
+
+    /// Scratch rectangle for the camera's view.
+    private final Rect mView;
+
+    /// Initialise with every cell in the near band.
+    /// \param grid grid whose cells are put in bands.
+    public LodPolicy(Grid grid) {
+
+        mGrid = grid;
+        mBands = new int[grid.getColumns() * grid.getRows()];
+        mCounts = new int[BAND_COUNT];
+        mView = new Rect(0f, 0f, 0f, 0f);
+
+    }
+
+    /// Get the number of ticks between updates for a band.
+    /// \param band the band.
+    /// \return the number of ticks between updates.
+    public static int getInterval(int band) {
+
+        return INTERVALS[band];
+
+    }
+
+    /// Put each cell in a band based on the camera's current view and reset
+    /// the count of objects in each band. Called once at the start of a tick.
+    /// \param camera camera the view is seen through.
+    public void update(Camera camera) {
+
+        camera.getView(mView);
+        int columns = mGrid.getColumns();
+        int rows = mGrid.getRows();
+        int first = mGrid.getCellId(mView.x, mView.y);
+        // The far edges of the view are exclusive.
+        int last = mGrid.getCellId(Math.nextDown(mView.x + mView.width), 
+                                   Math.nextDown(mView.y + mView.height));
+        int minX = first == -1 ? 0 : first % columns;
+        int minY = first == -1 ? 0 : first / columns;
+        int maxX = last == -1 ? columns - 1 : last % columns;
+        int maxY = last == -1 ? rows - 1 : last / columns;
+
+        for (int y = 0; y < rows; ++y) {
+
+            int dy = Math.max(0, Math.max(minY - y, y - maxY));
+            for (int x = 0; x < columns; ++x) {
+
+                int dx = Math.max(0, Math.max(minX - x, x - maxX));
+                int distance = Math.max(dx, dy);
+                int band = FAR;
+                if (distance <= NEAR_CELLS) {
+
+                    band = NEAR;
+
+                } else if (distance <= MID_CELLS) {
+
+                    band = MID;
+
+                }
+                mBands[y * columns + x] = band;
+
+            }
+
+        }
+
+        for (int i = 0; i < BAND_COUNT; ++i) {
+
+            mCounts[i] = 0;
+
+        }
+
+    }
+
+    /// Get the band of an object's cell and count the object in that band.
+    /// \param cellId packed id of the object's cell (-1 if not yet placed in
+    /// the grid, which is treated as near so new objects update straight away).
+    /// \return the object's band.
+    public int classify(int cellId) {
+
+        int band = cellId == -1 ? NEAR : mBands[cellId];
+        ++mCounts[band];
+        return band;
+
+    }
+
+    /// Get the number of objects classified into a band this tick.
+    /// \param band the band.
+    /// \return the number of objects in the band.
+    public int getCount(int band) {
+
+        return mCounts[band];
+
+    }
+
+}
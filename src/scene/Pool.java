@@ -0,0 +1,124 @@
+package scene;
+
+import java.util.function.Supplier;
+
+/// Bounded pool of released objects that can be reused instead of allocating
+/// new ones. Objects obtained from the pool must be reset by the caller.
+/// Tracks how many objects are in use at once and how often the pool was
+/// empty so capacities can be tuned.
+public class Pool<T> {
+
+    /// Factory used when the pool is empty.
+    private final Supplier<T> mFactory;
+
+    /// Released objects waiting to be reused.
+    private final Object[] mFree;
+
+    /// Number of objects in mFree.
+    private int mFreeCount;
+
+    /// Number of obtained objects not yet released.
+    private int mInUse;
+
+    /// Largest number of objects in use at once.
+    private int mHighWaterMark;
+
+    /// Number of times an object had to be allocated because the pool was empty.
+    private long mMisses;
+
+    /// Number of released objects dropped because the pool was full.
+    private long mDropped;
+
+    /// Initialise an empty pool.
+    /// \param factory factory to create objects with when the pool is empty.
+    /// \param capacity the maximum number of released objects to keep.
+    public Pool(Supplier<T> factory, int capacity) {
+
+        assert capacity > 0;
+        mFactory = factory;
+        mFree = new Object[capacity];
+        mFreeCount = 0;
+        mInUse = 0;
+        mHighWaterMark = 0;
+        mMisses = 0;
+        mDropped = 0;
+
+    }
+
+    /// Get an object from the pool, creating one if the pool is empty.
+    /// \return a released object or a newly created one.
+    @SuppressWarnings("unchecked")
+    public T obtain() {
+
+        ++mInUse;
+        if (mInUse > mHighWaterMark) {
+
+            mHighWaterMark = mInUse;
+
+        }
+        if (mFreeCount == 0) {
+
+            ++mMisses;
+            return mFactory.get();
+
+        }
+        T object = (T)mFree[--mFreeCount];
+        mFree[mFreeCount] = null;
+        return object;
+
+    }
+
+    /// Return an object to the pool once it is no longer used.
+    /// \param object the released object.
+    public void free(T object) {
+
+        assert mInUse > 0;
+        --mInUse;
+        if (mFreeCount < mFree.length) {
+
+            mFree[mFreeCount++] = object;
+
+        } else {
+
+            ++mDropped;
+
+        }
+
+    }
+
+    /// Get the maximum number of released objects kept.
+    public int getCapacity() {
+
+        return mFree.length;
+
+    }
+
+    /// Get the number of obtained objects not yet released.
+    public int getInUse() {
+
+        return mInUse;
+
+    }
+
+    /// Get the largest number of objects that have been in use at once.
+    public int getHighWaterMark() {
+
+        return mHighWaterMark;
+
+    }
+
+    /// Get the number of times an object had to be allocated.
+    public long getMisses() {
+
+        return mMisses;
+
+    }
+
+    /// Get the number of released objects dropped because the pool was full.
+    public long getDropped() {
+
+        return mDropped;
+
+    }
+
+}
@@ -1,9 +1,11 @@
 package scene;
 
 import processing.core.PVector;
+import gameobject.EntityStore;
 import gameobject.PowerUp;
 import grid.Grid;
 import texture.Texture;
+import transform.Vec2;
 import random.Randomiser;
 import config.Config;
 
@@ -13,21 +15,27 @@ public class PowerUpManager extends SpawnManager<PowerUp> {
     /// Power-up movement speed constant.
     private static final float POWERUP_SPEED = 50f;
 
-    /// Texture to use for power-ups.
-    private final Texture mPowerUpTexture;
+    /// Maximum number of released power-ups kept for reuse.
+    private static final int POOL_CAPACITY = 16;
 
-    /// Grid to spawn power-ups in.
-    private final Grid mGrid;
+    /// Released power-ups waiting to be reused.
+    private final Pool<PowerUp> mPool;
+
+    /// Scratch vectors for spawn positions and directions.
+    private final Vec2 mSpawn;
+    private final Vec2 mDirection;
 
     /// Rate to spawn health pickups at.
     private float mHealthRate;
 
     /// Initialise power-up manager.
-    public PowerUpManager(Texture powerUpTexture, Grid grid, float spawnInterval) {
+    public PowerUpManager(Texture powerUpTexture, Grid grid, EntityStore entities, float spawnInterval) {
 
         super(spawnInterval);
-        mPowerUpTexture = powerUpTexture;
-        mGrid = grid;
+        mPool = new Pool<PowerUp>(() -> new PowerUp(powerUpTexture, grid, entities, PowerUp.HEALTH_ID, new PVector(0f, 0f)),
+                                  POOL_CAPACITY);
+        mSpawn = new Vec2();
+        mDirection = new Vec2();
         mHealthRate = 0f;
 
     }
@@ -45,15 +53,29 @@ public class PowerUpManager extends SpawnManager<PowerUp> {
     /// \return spawned power-up.
     protected PowerUp spawn() {
 
-        PVector velocity = new PVector(0f, 0f);
-        PVector spawn = Spawn.generateSpawnPoint(velocity);
-        velocity.mult(POWERUP_SPEED);
-        PowerUp powerUp = new PowerUp(mPowerUpTexture, mGrid, generateId(), velocity);
-        powerUp.setTranslation(spawn);
+        Spawn.generateSpawnPoint(mSpawn, mDirection);
+        PowerUp powerUp = mPool.obtain();
+        powerUp.reset(generateId(), mDirection.x * POWERUP_SPEED, mDirection.y * POWERUP_SPEED);
+        powerUp.setTranslation(mSpawn);
         return powerUp;
 
     }
 
+    /// Return a collected or lost power-up to the pool.
+    /// \param powerUp the released power-up.
+    protected void recycle(PowerUp powerUp) {
+
+        mPool.free(powerUp);
+
+    }
+
+    /// Get the pool of released power-ups.
+    public Pool<PowerUp> getPool() {
+
+        return mPool;
+
+    }
+
     /// Generate random Id to use for a power-up.
     private int generateId() {
 
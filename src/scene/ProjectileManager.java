@@ -1,50 +1,44 @@
 package scene;
 
-import java.util.Iterator;
-import java.util.ArrayList;
+import java.util.function.Consumer;
 import processing.core.PApplet;
 import processing.core.PVector;
+import gameobject.EntityStore;
 import gameobject.Laser;
 import gameobject.NormalLaser;
 import gameobject.PenetrateLaser;
 import gameobject.ReflectLaser;
 import grid.Grid;
 import camera.Camera;
+import render.RenderSnapshot;
 import texture.Texture;
 
 
 /// Manages updating and rendering of lasers.
 public class ProjectileManager {
 
-    /// Texture to use for lasers.
-    private final Texture mLaserTexture;
+    /// Maximum number of released lasers of each type kept for reuse.
+    private static final int POOL_CAPACITY = 128;
 
-    /// Grid to put lasers in.
-    private final Grid mGrid;
+    /// Released lasers of each type waiting to be reused.
+    private final Pool<Laser> mNormalPool;
+    private final Pool<Laser> mPenetratePool;
+    private final Pool<Laser> mReflectPool;
 
     /// Lasers currently in the game.
-    private final ArrayList<Laser> mLasers;
+    private final DenseList<Laser> mLasers;
 
-    /// Score accumulated from lasers destroying enemies.
-    private int mScore;
+    /// Releases and recycles lasers removed from mLasers.
+    private final Consumer<Laser> mRemover;
 
     /// Initialise projectile manager.
-    public ProjectileManager(Texture laserTexture, Grid grid) {
+    public ProjectileManager(Texture laserTexture, Grid grid, EntityStore entities) {
 
-        mScore = 0;
-        mLaserTexture = laserTexture;
-        mGrid = grid;
-        mLasers = new ArrayList<Laser>();
-
-    }
-
-    /// Get score accumulated by lasers.
-    /// \return the score accumulated by lasers.
-    public int consumeScore() {
-
-        int score = mScore;
-        mScore = 0;
-        return score;
+        mNormalPool = new Pool<Laser>(() -> new NormalLaser(laserTexture, grid, entities), POOL_CAPACITY);
+        mPenetratePool = new Pool<Laser>(() -> new PenetrateLaser(laserTexture, grid, entities), POOL_CAPACITY);
+        mReflectPool = new Pool<Laser>(() -> new ReflectLaser(laserTexture, grid, entities), POOL_CAPACITY);
+        mLasers = new DenseList<Laser>();
+        mRemover = this::remove;
 
     }
 
@@ -56,57 +50,89 @@ public class ProjectileManager {
                          PVector velocity, 
                          PVector translation) {
 
-        Laser laser = null;
+        addLaser(id, velocity.x, velocity.y, translation.x, translation.y);
+
+    }
+
+    /// Add a new laser to the manager without allocating vectors.
+    /// \param id the ID of the laser type.
+    /// \param xVelocity x component of the laser's velocity.
+    /// \param yVelocity y component of the laser's velocity.
+    /// \param x x component of the laser's initial position.
+    /// \param y y component of the laser's initial position.
+    public void addLaser(int id,
+                         float xVelocity,
+                         float yVelocity,
+                         float x,
+                         float y) {
+
+        Laser laser = getPool(id).obtain();
+        laser.reset(xVelocity, yVelocity, x, y);
+        mLasers.add(laser);
+
+    }
+
+    /// \return the number of lasers in the game.
+    public int size() {
+
+        return mLasers.size();
+
+    }
+
+    /// Get the pool of released lasers of a type.
+    /// \param id the ID of the laser type.
+    /// \return the pool for the laser type.
+    public Pool<Laser> getPool(int id) {
+
         switch (id) {
             case PenetrateLaser.ID:
-                laser = new PenetrateLaser(mLaserTexture, mGrid, velocity); 
-                break;
+                return mPenetratePool;
             case ReflectLaser.ID:
-                laser = new ReflectLaser(mLaserTexture, mGrid, velocity); 
-                break;
+                return mReflectPool;
             default:
-                laser = new NormalLaser(mLaserTexture, mGrid, velocity); 
-                break;
+                return mNormalPool;
         }
 
-        laser.setTranslation(translation);
-        mLasers.add(laser);
-
     }
 
-    /// Update all lasers, accumulating score from them and destroying lasers
-    /// that go out of bounds.
+    /// Update all lasers and remove destroyed lasers.
     public void update(float delta) {
 
-        Iterator<Laser> it = mLasers.iterator();
-        while (it.hasNext()) {
-        
-            Laser laser = it.next();
-            laser.update(delta);
-            mScore += laser.consumeScore();
-            if (laser.isDestroyed()) {
+        for (int i = 0; i < mLasers.size(); ++i) {
 
-                laser.removeFromGrid();
-                it.remove();
-
-            }
+            mLasers.get(i).update(delta);
 
         }
+        mLasers.compact(mRemover);
 
     }
 
-    /// Render all lasers.
-    /// \param core processing core to use for rendering.
-    /// \param camera camera to use for rendering.
-    public void render(PApplet core, Camera camera) {
+    /// Add all lasers to a render snapshot.
+    /// \param snapshot the snapshot to add lasers to.
+    /// \param view index of the camera's node in the snapshot.
+    public void capture(RenderSnapshot snapshot, int view) {
 
-        Iterator<Laser> it = mLasers.iterator();
-        while (it.hasNext()) {
-        
-            it.next().render(core, camera);
+        for (int i = 0; i < mLasers.size(); ++i) {
+
+            // Skip objects destroyed by collisions since their last update.
+            Laser laser = mLasers.get(i);
+            if (!laser.isDestroyed()) {
+
+                laser.capture(snapshot, view);
+
+            }
 
         }
 
     }
 
+    /// Release a destroyed laser and return it to its pool.
+    /// \param laser the destroyed laser.
+    private void remove(Laser laser) {
+
+        laser.release();
+        getPool(laser.getId()).free(laser);
+
+    }
+
 }
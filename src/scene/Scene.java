@@ -1,10 +1,10 @@
 package scene;
 
-import processing.core.PApplet;
 import processing.core.PVector;
 import texture.TextureManager;
 import state.SceneState;
 import state.StartState;
+import render.RenderSnapshot;
 
 
 /// Game scene. Manages and renders the game world.
@@ -28,11 +28,11 @@ public class Scene {
 
     }
 
-    /// Render the scene.
-    /// \param core Processing core to use for rendering.
-    public void render(PApplet core) {
+    /// Capture everything to render in the scene.
+    /// \param snapshot the snapshot to add the scene to.
+    public void capture(RenderSnapshot snapshot) {
 
-        mState.render(core);
+        mState.capture(snapshot);
 
     }
 
@@ -0,0 +1,226 @@
+package scene;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import processing.core.PVector;
+import render.RenderSnapshot;
+import render.SnapshotBuffer;
+import config.Horde;
+
+/// Runs the scene with a fixed timestep on its own thread so slow updates do
+/// not delay frames and slow frames do not delay updates. Input is passed in
+/// through a queue and handled before each tick, and after each tick the
+/// scene is captured in a render snapshot published through a triple buffer
+/// for the animation thread to draw.
+public class Simulation implements Runnable {
+
+    /// Number of ticks per second of game time.
+    public static final int UPDATE_RATE = 60;
+
+    /// Game time passed in each tick.
+    public static final float STEP_SIZE = 1f / UPDATE_RATE;
+
+    /// Real time between ticks in nanoseconds.
+    private static final long STEP_NANOS = 1000000000L / UPDATE_RATE;
+
+    /// Real time between tick rate reports in horde mode, in nanoseconds.
+    private static final long REPORT_NANOS = 5000000000L;
+
+    /// Most ticks to run to catch up at once. Time beyond this is dropped so
+    /// a stall cannot leave the simulation trying to catch up indefinitely.
+    private static final int MAX_STEPS = 5;
+
+    /// The scene being simulated.
+    private final Scene mScene;
+
+    /// Snapshots passed from the simulation thread to the animation thread.
+    private final SnapshotBuffer mSnapshots;
+
+    /// Input waiting to be handled by the simulation thread.
+    private final ConcurrentLinkedQueue<InputEvent> mInput;
+
+    /// Whether the simulation thread should keep running.
+    private volatile boolean mRunning;
+
+    /// The simulation thread (null if not started).
+    private Thread mThread;
+
+    /// Start of the current report period, and the ticks run and time spent
+    /// running them since.
+    private long mReportStart;
+    private int mReportTicks;
+    private long mReportBusy;
+
+    /// Initialise simulation of a scene.
+    /// \param scene the scene to simulate.
+    public Simulation(Scene scene) {
+
+        mScene = scene;
+        mSnapshots = new SnapshotBuffer();
+        mInput = new ConcurrentLinkedQueue<InputEvent>();
+        mRunning = false;
+        mThread = null;
+
+    }
+
+    /// Start simulating on a new thread.
+    public void start() {
+
+        assert mThread == null;
+        mRunning = true;
+        mThread = new Thread(this, "Simulation");
+        mThread.setDaemon(true);
+        mThread.start();
+
+    }
+
+    /// Stop the simulation thread and wait for it to finish.
+    public void stop() {
+
+        mRunning = false;
+        if (mThread != null) {
+
+            LockSupport.unpark(mThread);
+            try {
+
+                mThread.join();
+
+            } catch (InterruptedException e) {
+
+                Thread.currentThread().interrupt();
+
+            }
+            mThread = null;
+
+        }
+
+    }
+
+    /// Queue input to be handled before the next tick. Safe to call from
+    /// any thread.
+    /// \param event the input to handle.
+    public void post(InputEvent event) {
+
+        mInput.add(event);
+
+    }
+
+    /// Get the most recently published snapshot. Only called by the thread
+    /// rendering the scene.
+    /// \return the latest snapshot, valid until the next call.
+    public RenderSnapshot getSnapshot() {
+
+        return mSnapshots.acquire();
+
+    }
+
+    /// Get how far to interpolate a snapshot, from the time since it was
+    /// published as a fraction of a tick.
+    /// \param snapshot the snapshot to render.
+    /// \return the fraction of the way from the start of the snapshot's tick
+    ///         to the end (0 to 1).
+    public float getAlpha(RenderSnapshot snapshot) {
+
+        long elapsed = System.nanoTime() - snapshot.getTime();
+        return Math.min((float)elapsed / STEP_NANOS, 1f);
+
+    }
+
+    /// Run the simulation loop until stopped.
+    public void run() {
+
+        publish();
+        long previousTime = System.nanoTime();
+        long accumulator = 0;
+        mReportStart = previousTime;
+        mReportTicks = 0;
+        mReportBusy = 0;
+        while (mRunning) {
+
+            long currentTime = System.nanoTime();
+            accumulator = Math.min(accumulator + currentTime - previousTime,
+                                   MAX_STEPS * STEP_NANOS);
+            previousTime = currentTime;
+
+            // While there is still enough time left in accumulator update the
+            // game with the fixed timestep.
+            while (accumulator >= STEP_NANOS) {
+
+                long tickStart = System.nanoTime();
+                handleInput();
+                mScene.update(STEP_SIZE);
+                publish();
+                accumulator -= STEP_NANOS;
+                ++mReportTicks;
+                mReportBusy += System.nanoTime() - tickStart;
+
+            }
+            if (Horde.ENABLED && currentTime - mReportStart >= REPORT_NANOS) {
+
+                report(currentTime);
+
+            }
+
+            // Sleep until the next tick is due.
+            LockSupport.parkNanos(STEP_NANOS - accumulator);
+
+        }
+
+    }
+
+    /// Print the tick rate achieved since the last report and the rate that
+    /// could be sustained if ticks ran back to back, then start a new report
+    /// period.
+    /// \param currentTime the current time from System.nanoTime().
+    private void report(long currentTime) {
+
+        double seconds = (currentTime - mReportStart) / 1e9;
+        double busySeconds = mReportBusy / 1e9;
+        System.out.printf("horde: %.1f ticks/s, %.0f ticks/s sustainable, %.2f ms per tick%n",
+                          mReportTicks / seconds,
+                          mReportTicks / busySeconds,
+                          busySeconds * 1000.0 / mReportTicks);
+        mReportStart = currentTime;
+        mReportTicks = 0;
+        mReportBusy = 0;
+
+    }
+
+    /// Pass queued input to the scene in the order it arrived.
+    private void handleInput() {
+
+        InputEvent event;
+        while ((event = mInput.poll()) != null) {
+
+            PVector mousePos = new PVector(event.getX(), event.getY());
+            switch (event.getType()) {
+                case InputEvent.MOUSE_MOVE:
+                    mScene.updateMousePos(mousePos);
+                    break;
+                case InputEvent.MOUSE_PRESS:
+                    mScene.handleMousePress(event.getButton(), mousePos);
+                    break;
+                case InputEvent.MOUSE_RELEASE:
+                    mScene.handleMouseRelease(event.getButton(), mousePos);
+                    break;
+                case InputEvent.KEY_PRESS:
+                    mScene.handleKeyPress(event.getKey());
+                    break;
+                case InputEvent.KEY_RELEASE:
+                    mScene.handleKeyRelease(event.getKey());
+                    break;
+            }
+
+        }
+
+    }
+
+    /// Capture the scene in a snapshot and publish it.
+    private void publish() {
+
+        mScene.capture(mSnapshots.beginWrite());
+        mSnapshots.publish();
+
+    }
+
+}
@@ -3,6 +3,7 @@ package scene;
 import processing.core.PVector;
 import random.Randomiser;
 import rect.Rect;
+import transform.Vec2;
 import config.Config;
 
 /// Game spawn area.
@@ -61,4 +62,18 @@ public class Spawn {
 
     }
 
+    /// Generate a spawn point and a direction pointing from that spawn point to
+    /// a random point in the play area without allocating.
+    /// \param spawn vector to set to the generated spawn position.
+    /// \param direction vector to set to the generated direction.
+    public static void generateSpawnPoint(Vec2 spawn, Vec2 direction) {
+
+        int spawnIndex = Randomiser.randomInt(0, mSpawns.length - 1);
+        Randomiser.randomPoint(mSpawns[spawnIndex], spawn);
+
+        Randomiser.randomPoint(mAreaBounds, direction);
+        direction.add(-spawn.x, -spawn.y).normalize();
+
+    }
+
 }
@@ -1,13 +1,13 @@
 package scene;
 
-import java.util.Iterator;
-import java.util.ArrayList;
+import java.util.function.Consumer;
 import processing.core.PApplet;
 import processing.core.PVector;
 import gameobject.Asteroid;
 import grid.Grid;
 import gameobject.GridObject;
 import camera.Camera;
+import render.RenderSnapshot;
 import texture.Texture;
 import config.Config;
 
@@ -21,14 +21,32 @@ public abstract class SpawnManager<T extends GridObject> {
     private float mSpawnProgress;
 
     /// Pool of game objects being managed.
-    private final ArrayList<T> mGameObjects;
+    private final DenseList<T> mGameObjects;
+
+    /// Releases and recycles objects removed from mGameObjects.
+    private final Consumer<T> mRemover;
+
+    /// Level of detail policy to update objects with (null to update every
+    /// object every tick).
+    private LodPolicy mLod;
 
     /// Initialise manager.
     public SpawnManager(float spawnInterval) {
 
         mSpawnProgress = 0f;
         mSpawnInterval = spawnInterval;
-        mGameObjects = new ArrayList<T>();
+        mGameObjects = new DenseList<T>();
+        mRemover = this::remove;
+        mLod = null;
+
+    }
+
+    /// Set the level of detail policy used to update distant objects less
+    /// often.
+    /// \param lod the policy to use or null to update every object every tick.
+    public void setLod(LodPolicy lod) {
+
+        mLod = lod;
 
     }
 
@@ -49,45 +67,96 @@ public abstract class SpawnManager<T extends GridObject> {
     }
 
     /// Update each game object and remove destroyed objects. Then spawn
-    /// new objects if spawn interval reached.
+    /// new objects if spawn interval reached. The order of objects may
+    /// change when destroyed objects are removed.
     /// \param delta the time passed since the last update.
     public void update(float delta) {
 
-        // Update gameObjects then remove destroyed.
-        Iterator<T> it = mGameObjects.iterator();
-        while (it.hasNext()) {
-        
-            T gameObject = it.next();
-            gameObject.update(delta);
-            if (gameObject.isDestroyed()) {
+        // Update gameObjects then remove destroyed in one pass.
+        updateObjects(delta);
+        mGameObjects.compact(mRemover);
+        updateSpawning(delta);
+
+    }
+
+    /// Update each game object.
+    /// \param delta the time passed since the last update.
+    protected void updateObjects(float delta) {
+
+        for (int i = 0; i < mGameObjects.size(); ++i) {
 
-                gameObject.removeFromGrid();
-                it.remove();
+            T gameObject = mGameObjects.get(i);
+            float step = getStep(gameObject, delta);
+            if (step > 0f) {
+
+                gameObject.update(step);
 
             }
 
         }
-        updateSpawning(delta);
 
     }
 
-    /// Render each game object.
-    /// \param core Processing core to use for rendering.
-    /// \param camera Camera to combine with transformation
-    public void render(PApplet core, Camera camera) {
+    /// Get the time to update an object by this tick based on the level of
+    /// detail of its position.
+    /// \param gameObject the object to update.
+    /// \param delta the time passed since the last update.
+    /// \return the time to update the object by or 0 if it should not update.
+    protected float getStep(T gameObject, float delta) {
+
+        if (mLod == null) {
 
-        Iterator<T> it = mGameObjects.iterator();
-        while (it.hasNext()) {
-        
-            it.next().render(core, camera);
+            return delta;
 
         }
+        int band = mLod.classify(gameObject.getCellId());
+        return gameObject.accumulate(delta, LodPolicy.getInterval(band));
+
+    }
+
+    /// Add each game object to a render snapshot.
+    /// \param snapshot the snapshot to add objects to.
+    /// \param view index of the camera's node in the snapshot.
+    public void capture(RenderSnapshot snapshot, int view) {
+
+        for (int i = 0; i < mGameObjects.size(); ++i) {
+
+            // Skip objects destroyed by collisions since their last update.
+            T gameObject = mGameObjects.get(i);
+            if (!gameObject.isDestroyed()) {
+
+                gameObject.capture(snapshot, view);
+
+            }
+
+        }
+
+    }
+
+    /// Start managing a spawned object outside of the spawn interval.
+    /// \param gameObject the spawned object.
+    protected void add(T gameObject) {
+
+        mGameObjects.add(gameObject);
 
     }
 
     /// Spawn a new game object for the manager.
     protected abstract T spawn();
 
+    /// Return a released game object to the manager's pool.
+    /// \param gameObject the released object.
+    protected abstract void recycle(T gameObject);
+
+    /// Release a destroyed object and return it to the manager's pool.
+    /// \param gameObject the destroyed object.
+    private void remove(T gameObject) {
+
+        gameObject.release();
+        recycle(gameObject);
+
+    }
+
     /// Spawn new objects if spawn interval reached.
     /// \param delta time passed since the last update.
     private void updateSpawning(float delta) {
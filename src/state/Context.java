@@ -10,16 +10,22 @@ import grid.Grid;
 import gameobject.Ship;
 import gameobject.Turret;
 import gameobject.Enemy;
+import gameobject.EntityStore;
 import gameobject.Chaser;
 import gameobject.Flocker;
 import gameobject.RandomEnemy;
 import gameobject.Ghost;
+import gameobject.CollisionPhase;
 import scene.ProjectileManager;
 import scene.AsteroidManager;
 import scene.PowerUpManager;
 import scene.EnemyManager;
+import scene.LodPolicy;
 import scene.Spawn;
 import config.Config;
+import config.Horde;
+import event.EventChannel;
+import profile.FrameProfiler;
 
 /// Game context holding objects that make up the scene.
 public class Context {
@@ -30,24 +36,40 @@ public class Context {
 
     private static final float GRID_CELL_SIZE = 250f;
 
-    private static final float ASTEROID_SPAWN_INTERVAL = 6f;
+    private static final int EVENT_CAPACITY = 1024;
+
+    private static final float ASTEROID_SPAWN_INTERVAL = Horde.getInterval("asteroid", 6f, 0.5f);
     private static final float POWERUP_SPAWN_INTERVAL = 10f;
 
-    private static final float CHASER_BASE_SPAWN_INTERVAL = 3f;
+    private static final float CHASER_BASE_SPAWN_INTERVAL = Horde.getInterval("chaser", 3f, 0.05f);
     private static final float CHASER_EXTRA_SPAWN_INTERVAL = 5f;
-    private static final int CHASER_MAX = 6;
+    private static final int CHASER_MAX = Horde.getMax("chaser", 6, 300);
 
-    private static final float RANDOM_BASE_SPAWN_INTERVAL = 3f;
+    private static final float RANDOM_BASE_SPAWN_INTERVAL = Horde.getInterval("random", 3f, 0.02f);
     private static final float RANDOM_EXTRA_SPAWN_INTERVAL = 3f;
-    private static final int RANDOM_MAX = 15;
+    private static final int RANDOM_MAX = Horde.getMax("random", 15, 750);
 
-    private static final float FLOCKER_BASE_SPAWN_INTERVAL = 4f;
+    private static final float FLOCKER_BASE_SPAWN_INTERVAL = Horde.getInterval("flocker", 4f, 0.04f);
     private static final float FLOCKER_EXTRA_SPAWN_INTERVAL = 3f;
-    private static final int FLOCKER_MAX = 10;
+    private static final int FLOCKER_MAX = Horde.getMax("flocker", 10, 500);
 
-    private static final float GHOST_BASE_SPAWN_INTERVAL = 8f;
+    private static final float GHOST_BASE_SPAWN_INTERVAL = Horde.getInterval("ghost", 8f, 0.1f);
     private static final float GHOST_EXTRA_SPAWN_INTERVAL = 2f;
-    private static final int GHOST_MAX = 5;
+    private static final int GHOST_MAX = Horde.getMax("ghost", 5, 250);
+
+    /// Whether large numbers of enemies are steered in parallel (disable with
+    /// -Denemies.parallel=false).
+    private static final boolean PARALLEL_ENEMIES = 
+        Boolean.parseBoolean(System.getProperty("enemies.parallel", "true"));
+
+    /// Whether collisions between large numbers of objects are found in
+    /// parallel (disable with -Dcollisions.parallel=false).
+    private static final boolean PARALLEL_COLLISIONS = 
+        Boolean.parseBoolean(System.getProperty("collisions.parallel", "true"));
+
+    /// Whether parallel collision searches are checked against a serial
+    /// search (enable with -Dcollisions.verify=true).
+    private static final boolean VERIFY_COLLISIONS = Boolean.getBoolean("collisions.verify");
 
     /// Texture manager to use for initialisation.
     private final TextureManager mTextureManager;
@@ -57,6 +79,7 @@ public class Context {
     public PVector mousePos;
     public Camera camera;
     public Grid grid;
+    public EntityStore entities;
     public Ship ship;
     public Turret turret;
     public ProjectileManager projectileManager;
@@ -66,11 +89,18 @@ public class Context {
     public EnemyManager chaserManager;
     public EnemyManager flockerManager;
     public EnemyManager ghostManager;
+    public CollisionPhase collisionPhase;
+    public EventChannel events;
+    public LodPolicy lod;
+
+    /// Profiler kept across restarts so it stays enabled in a new game.
+    public final FrameProfiler profiler;
 
     /// Initialise context.
     public Context(TextureManager textureManager) {
 
         mTextureManager = textureManager; 
+        profiler = new FrameProfiler();
         reset();
 
     }
@@ -83,6 +113,12 @@ public class Context {
         grid = new Grid(new Rect(-Spawn.WIDTH, -Spawn.HEIGHT, 
                                  TOTAL_WIDTH, TOTAL_HEIGHT),
                                  GRID_CELL_SIZE);
+        entities = new EntityStore(grid);
+        lod = new LodPolicy(grid);
+        events = new EventChannel(EVENT_CAPACITY);
+        collisionPhase = new CollisionPhase(grid, entities, events);
+        collisionPhase.setParallel(PARALLEL_COLLISIONS);
+        collisionPhase.setVerify(VERIFY_COLLISIONS);
         initProjectiles();
         initShip();
         initTurret();
@@ -93,6 +129,19 @@ public class Context {
         initChasers();
         initFlockers();
         initGhosts();
+        initParallelUpdates();
+        initLod();
+        initHorde();
+
+    }
+
+    /// Save the current transform of every moving object so rendering can
+    /// interpolate from it. Called at the start of each simulation tick.
+    public void savePrevious() {
+
+        entities.savePrevious();
+        turret.savePrevious();
+        camera.savePrevious();
 
     }
 
@@ -100,7 +149,7 @@ public class Context {
     private void initShip() {
 
         Texture shipTexture = mTextureManager.getTexture(Config.SHIP_TEXTURE_ID);
-        ship = new Ship(shipTexture, grid);
+        ship = new Ship(shipTexture, grid, entities);
         ship.setTranslation(Config.AREA_WIDTH / 2f, Config.AREA_HEIGHT / 2f);
 
     }
@@ -110,7 +159,7 @@ public class Context {
     private void initTurret() {
 
         Texture turretTexture = mTextureManager.getTexture(Config.TURRET_TEXTURE_ID);
-        turret = new Turret(turretTexture, ship, projectileManager);
+        turret = new Turret(turretTexture, ship, projectileManager, events);
         turret.setTranslation(0f, 30f);
 
     }
@@ -127,7 +176,7 @@ public class Context {
     private void initProjectiles() {
 
         Texture laserTexture = mTextureManager.getTexture(Config.LASER_TEXTURE_ID);
-        projectileManager = new ProjectileManager(laserTexture, grid);
+        projectileManager = new ProjectileManager(laserTexture, grid, entities);
 
     }
 
@@ -135,14 +184,14 @@ public class Context {
     private void initAsteroids() {
 
         Texture asteroidTexture = mTextureManager.getTexture(Config.ASTEROID_TEXTURE_ID);
-        asteroidManager = new AsteroidManager(asteroidTexture, grid, ASTEROID_SPAWN_INTERVAL);
+        asteroidManager = new AsteroidManager(asteroidTexture, grid, entities, ASTEROID_SPAWN_INTERVAL);
 
     }
 
     private void initPowerUps() {
 
         Texture powerUpTexture = mTextureManager.getTexture(Config.POWERUP_TEXTURE_ID);
-        powerUpManager = new PowerUpManager(powerUpTexture, grid, POWERUP_SPAWN_INTERVAL);
+        powerUpManager = new PowerUpManager(powerUpTexture, grid, entities, POWERUP_SPAWN_INTERVAL);
 
     }
 
@@ -152,7 +201,7 @@ public class Context {
         Texture randomTexture = mTextureManager.getTexture(Config.RANDOM_TEXTURE_ID);
         Supplier<Enemy> randomFactory = 
            () -> {
-               return new RandomEnemy(randomTexture, grid);
+               return new RandomEnemy(randomTexture, grid, entities);
            };
         randomManager = new EnemyManager(randomFactory, 
                                          RANDOM_BASE_SPAWN_INTERVAL,
@@ -166,7 +215,7 @@ public class Context {
         Texture chaserTexture = mTextureManager.getTexture(Config.CHASER_TEXTURE_ID);
         Supplier<Enemy> chaserFactory = 
            () -> {
-               return new Chaser(chaserTexture, grid, ship);
+               return new Chaser(chaserTexture, grid, entities, ship);
            };
         chaserManager = new EnemyManager(chaserFactory, 
                                          CHASER_BASE_SPAWN_INTERVAL,
@@ -183,6 +232,7 @@ public class Context {
            () -> {
                return new Flocker(flockerTexture, 
                                   grid,
+                                  entities,
                                   chaserManager);
            };
         flockerManager = new EnemyManager(flockerFactory, 
@@ -198,7 +248,7 @@ public class Context {
         Texture ghostTexture = mTextureManager.getTexture(Config.GHOST_TEXTURE_ID);
         Supplier<Enemy> ghostFactory = 
            () -> {
-               return new Ghost(ghostTexture, grid);
+               return new Ghost(ghostTexture, grid, entities);
            };
         ghostManager = new EnemyManager(ghostFactory, 
                                         GHOST_BASE_SPAWN_INTERVAL,
@@ -207,4 +257,34 @@ public class Context {
 
     }
 
+    /// Enable or disable parallel enemy updates.
+    private void initParallelUpdates() {
+
+        randomManager.setParallel(PARALLEL_ENEMIES);
+        chaserManager.setParallel(PARALLEL_ENEMIES);
+        flockerManager.setParallel(PARALLEL_ENEMIES);
+        ghostManager.setParallel(PARALLEL_ENEMIES);
+
+    }
+
+    /// Keep enemies spawning at the configured rate up to their caps in horde
+    /// mode.
+    private void initHorde() {
+
+        randomManager.setPinned(Horde.ENABLED);
+        chaserManager.setPinned(Horde.ENABLED);
+        flockerManager.setPinned(Horde.ENABLED);
+        ghostManager.setPinned(Horde.ENABLED);
+
+    }
+
+    /// Update distant asteroids, random enemies and flockers less often.
+    private void initLod() {
+
+        asteroidManager.setLod(lod);
+        randomManager.setLod(lod);
+        flockerManager.setLod(lod);
+
+    }
+
 }
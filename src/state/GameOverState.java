@@ -4,6 +4,7 @@ import processing.core.PApplet;
 import processing.core.PConstants;
 import processing.core.PVector;
 import gameobject.TextObject;
+import render.RenderSnapshot;
 import config.Config;
 
 /// State managing game over screen.
@@ -34,12 +35,18 @@ public class GameOverState extends SceneState {
         mScore.translate(Config.WINDOW_WIDTH / 2f, Config.WINDOW_HEIGHT / 2f - 50f);
         mRestart.translate(Config.WINDOW_WIDTH / 2f, Config.WINDOW_HEIGHT / 2f);
 
+        // Ship is no longer updated so should not move or react to collisions.
+        mContext.ship.setCollisionMask(0);
+        mContext.ship.setVelocity(0f, 0f);
+
     }
 
     /// Update remaining enemies and lasers but not score or ship.
     /// \param delta time since last update.
     public SceneState update(float delta) {
 
+        mContext.savePrevious();
+        mContext.lod.update(mContext.camera);
         mContext.projectileManager.update(delta);
         mContext.asteroidManager.update(delta);
         mContext.powerUpManager.update(delta);
@@ -47,19 +54,22 @@ public class GameOverState extends SceneState {
         mContext.chaserManager.update(delta);
         mContext.flockerManager.update(delta);
         mContext.ghostManager.update(delta);
-        mContext.camera.centre(mContext.ship.getTranslation());
+        mContext.entities.integrate(delta);
+        mContext.entities.updateCells();
+        mContext.collisionPhase.run();
+        mContext.camera.centre(mContext.ship.getXTranslation(), mContext.ship.getYTranslation());
         return this;
         
     }
 
-    /// Render scene and game over text.
-    /// \param core Processing core to use for rendering.
-    public void render(PApplet core) { 
+    /// Capture scene and game over text.
+    /// \param snapshot the snapshot to add the scene to.
+    public void capture(RenderSnapshot snapshot) { 
 
-        super.render(core);
-        mStatus.render(core);
-        mScore.render(core);
-        mRestart.render(core);
+        super.capture(snapshot);
+        mStatus.capture(snapshot, RenderSnapshot.NO_NODE);
+        mScore.capture(snapshot, RenderSnapshot.NO_NODE);
+        mRestart.capture(snapshot, RenderSnapshot.NO_NODE);
 
     }
 
@@ -3,6 +3,7 @@ package state;
 import processing.core.PApplet;
 import processing.core.PConstants;
 import gameobject.TextObject;
+import render.RenderSnapshot;
 import config.Config;
 
 /// Paused game state.
@@ -39,12 +40,23 @@ public class PauseState extends StatusState {
 
     }
 
-    /// Render the game and paused text.
-    /// \param core processing core to render game with.
-    public void render(PApplet core) {
+    /// Keep the paused scene still.
+    /// \param delta time since last update.
+    public SceneState update(float delta) {
 
-        super.render(core);
-        mText.render(core);
+        // Nothing moves, so save the current transformations to stop
+        // rendering interpolating from before the pause.
+        mContext.savePrevious();
+        return super.update(delta);
+
+    }
+
+    /// Capture the game and paused text.
+    /// \param snapshot the snapshot to add the scene to.
+    public void capture(RenderSnapshot snapshot) {
+
+        super.capture(snapshot);
+        mText.capture(snapshot, RenderSnapshot.NO_NODE);
 
     }
 
@@ -16,14 +16,30 @@ import scene.AsteroidManager;
 import scene.PowerUpManager;
 import scene.EnemyManager;
 import config.Config;
+import gameobject.TextObject;
+import profile.FrameProfiler;
+import render.RenderSnapshot;
+import event.EventChannel;
+import event.Subscription;
 
 /// Main game state in which the game is played.
 public class PlayState extends StatusState {
+
+    /// Subscription to kills and damage used for the score and planner.
+    private final Subscription mEvents;
+
+    /// Text showing the profiler's report when profiling is enabled.
+    private final TextObject mProfile;
     
     /// Initialise state with game context.
     public PlayState(Context context) {
         
         super(context);
+        mEvents = context.events.subscribe(this::handleEvent);
+        int textSize = 14;
+        boolean centred = false;
+        mProfile = new TextObject(textSize, centred);
+        mProfile.setTranslation(0f, 70f);
 
     }
 
@@ -33,22 +49,44 @@ public class PlayState extends StatusState {
 
         super.update(delta);
 
-        // Update game objects.
+        // Update game objects, updating distant objects less often.
+        updateProfile();
+        FrameProfiler profiler = mContext.profiler;
+        mContext.savePrevious();
+        mContext.lod.update(mContext.camera);
+        long start = profiler.start();
         mContext.ship.update(delta);
+        start = profiler.lapUpdate(FrameProfiler.SHIP, start);
         mContext.turret.update(delta);
+        start = profiler.lapUpdate(FrameProfiler.TURRET, start);
         mContext.projectileManager.update(delta);
+        start = profiler.lapUpdate(FrameProfiler.PROJECTILES, start);
         mContext.asteroidManager.update(delta);
+        start = profiler.lapUpdate(FrameProfiler.ASTEROIDS, start);
         mContext.powerUpManager.update(delta);
+        start = profiler.lapUpdate(FrameProfiler.POWER_UPS, start);
         mContext.randomManager.update(delta);
+        start = profiler.lapUpdate(FrameProfiler.RANDOM, start);
         mContext.chaserManager.update(delta);
+        start = profiler.lapUpdate(FrameProfiler.CHASERS, start);
         mContext.flockerManager.update(delta);
+        start = profiler.lapUpdate(FrameProfiler.FLOCKERS, start);
         mContext.ghostManager.update(delta);
+        start = profiler.lapUpdate(FrameProfiler.GHOSTS, start);
+
+        // Move every object, update grid cells, then handle collisions
+        // between objects now that they have all moved.
+        mContext.entities.integrate(delta);
+        mContext.entities.updateCells();
+        start = profiler.lapUpdate(FrameProfiler.MOVEMENT, start);
+        mContext.collisionPhase.run();
+        profiler.lapUpdate(FrameProfiler.COLLISIONS, start);
 
-        // Update score.
-        mContext.score += mContext.projectileManager.consumeScore();
+        // Update score and planner from this update's events.
+        mEvents.drain();
 
         // Update camera.
-        mContext.camera.centre(mContext.ship.getTranslation());
+        mContext.camera.centre(mContext.ship.getXTranslation(), mContext.ship.getYTranslation());
         mContext.turret.adjustTarget(mContext.camera, mContext.mousePos);
 
         // Move to game over state if ship's health reaches 0.
@@ -63,6 +101,19 @@ public class PlayState extends StatusState {
         
     }
 
+    /// Capture the game and status, and the profiler's report if profiling.
+    /// \param snapshot the snapshot to add the scene to.
+    public void capture(RenderSnapshot snapshot) {
+
+        super.capture(snapshot);
+        if (mContext.profiler.isEnabled()) {
+
+            mProfile.capture(snapshot, RenderSnapshot.NO_NODE);
+
+        }
+
+    }
+
     /// Handle mouse button presses.
     /// \param mouseButton the mouse button pressed.
     /// \param mousePos the position at which the mouse was pressed.
@@ -131,6 +182,10 @@ public class PlayState extends StatusState {
             case 'p':
                 return new PauseState(mContext);
 
+            case 'f':
+                mContext.profiler.toggle();
+                break;
+
         }
         return this;
 
@@ -160,6 +215,29 @@ public class PlayState extends StatusState {
 
     }
 
+    /// Start a new profiler tick and rebuild the profiler's report when it is
+    /// due. Does nothing unless profiling is enabled.
+    private void updateProfile() {
+
+        FrameProfiler profiler = mContext.profiler;
+        if (profiler.beginTick(mContext.grid)) {
+
+            profiler.setCount(FrameProfiler.PROJECTILES, mContext.projectileManager.size());
+            profiler.setCount(FrameProfiler.ASTEROIDS, mContext.asteroidManager.size());
+            profiler.setCount(FrameProfiler.POWER_UPS, mContext.powerUpManager.size());
+            profiler.setCount(FrameProfiler.RANDOM, mContext.randomManager.size());
+            profiler.setCount(FrameProfiler.CHASERS, mContext.chaserManager.size());
+            profiler.setCount(FrameProfiler.FLOCKERS, mContext.flockerManager.size());
+            profiler.setCount(FrameProfiler.GHOSTS, mContext.ghostManager.size());
+            profiler.setCount(FrameProfiler.MOVEMENT, mContext.entities.size());
+            profiler.setLodCounts(mContext.lod);
+            profiler.setEvents(mContext.events);
+            mProfile.setText(profiler.getReport());
+
+        }
+
+    }
+
     /// Update the planning AI.
     private void updatePlanner() {
 
@@ -168,11 +246,21 @@ public class PlayState extends StatusState {
         float healthRate = 1f - ((float)health / Ship.MAX_HEALTH);
         mContext.powerUpManager.setHealthRate(healthRate);
 
-        /// reduce enemy spawn rate for enemies that have damaged ship.
-        while (mContext.ship.hasEnemyDamage()) {
-            
-            int damageId = mContext.ship.getEnemyDamage();
-            switch (damageId) {
+    }
+
+    /// Add to the score for kills and reduce the spawn rate of enemies that
+    /// have damaged the ship.
+    /// \param type the type of the event.
+    /// \param value the value carried by the event.
+    private void handleEvent(int type, int value) {
+
+        if (type == EventChannel.ENEMY_KILLED) {
+
+            mContext.score += value;
+
+        } else if (type == EventChannel.SHIP_DAMAGED) {
+
+            switch (value) {
                 case RandomEnemy.ID:
                     mContext.randomManager.limitBound();
                     break;
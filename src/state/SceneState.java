@@ -3,6 +3,8 @@ package state;
 import processing.core.PApplet;
 import processing.core.PConstants;
 import processing.core.PVector;
+import render.RenderSnapshot;
+import profile.FrameProfiler;
 
 /// Abstract class representing a state that the game is in.
 /// Handles updating, rendering and input handling for the game while
@@ -26,19 +28,31 @@ public abstract class SceneState {
         
     }
 
-    /// Renders the scene.
-    /// \param core Processing core to use for rendering the scene.
-    public void render(PApplet core) { 
-
-        mContext.asteroidManager.render(core, mContext.camera);
-        mContext.ship.render(core, mContext.camera);
-        mContext.turret.render(core, mContext.camera);
-        mContext.randomManager.render(core, mContext.camera);
-        mContext.chaserManager.render(core, mContext.camera);
-        mContext.flockerManager.render(core, mContext.camera);
-        mContext.ghostManager.render(core, mContext.camera);
-        mContext.powerUpManager.render(core, mContext.camera);
-        mContext.projectileManager.render(core, mContext.camera);
+    /// Capture everything to render in the scene, relative to the camera.
+    /// \param snapshot the snapshot to add the scene to.
+    public void capture(RenderSnapshot snapshot) { 
+
+        FrameProfiler profiler = mContext.profiler;
+        int view = mContext.camera.captureTransform(snapshot, RenderSnapshot.NO_NODE);
+        long start = profiler.start();
+        mContext.asteroidManager.capture(snapshot, view);
+        start = profiler.lapCapture(FrameProfiler.ASTEROIDS, start);
+        mContext.ship.capture(snapshot, view);
+        start = profiler.lapCapture(FrameProfiler.SHIP, start);
+        mContext.turret.capture(snapshot, view);
+        start = profiler.lapCapture(FrameProfiler.TURRET, start);
+        mContext.randomManager.capture(snapshot, view);
+        start = profiler.lapCapture(FrameProfiler.RANDOM, start);
+        mContext.chaserManager.capture(snapshot, view);
+        start = profiler.lapCapture(FrameProfiler.CHASERS, start);
+        mContext.flockerManager.capture(snapshot, view);
+        start = profiler.lapCapture(FrameProfiler.FLOCKERS, start);
+        mContext.ghostManager.capture(snapshot, view);
+        start = profiler.lapCapture(FrameProfiler.GHOSTS, start);
+        mContext.powerUpManager.capture(snapshot, view);
+        start = profiler.lapCapture(FrameProfiler.POWER_UPS, start);
+        mContext.projectileManager.capture(snapshot, view);
+        profiler.lapCapture(FrameProfiler.PROJECTILES, start);
 
     }
 
@@ -4,6 +4,7 @@ import processing.core.PApplet;
 import processing.core.PConstants;
 import processing.core.PVector;
 import gameobject.TextObject;
+import render.RenderSnapshot;
 import texture.TextureManager;
 import config.Config;
 
@@ -26,12 +27,21 @@ public class StartState extends SceneState {
 
     }
 
-    /// Render scene and text.
-    /// \param core Processing core to render game with.
-    public void render(PApplet core) { 
+    /// Keep the scene still until the game starts.
+    /// \param delta time since last update.
+    public SceneState update(float delta) {
 
-        super.render(core);
-        mText.render(core);
+        mContext.savePrevious();
+        return this;
+
+    }
+
+    /// Capture scene and text.
+    /// \param snapshot the snapshot to add the scene to.
+    public void capture(RenderSnapshot snapshot) { 
+
+        super.capture(snapshot);
+        mText.capture(snapshot, RenderSnapshot.NO_NODE);
 
     }
 
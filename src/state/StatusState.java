@@ -4,6 +4,7 @@ import processing.core.PApplet;
 import processing.core.PConstants;
 import processing.core.PVector;
 import gameobject.TextObject;
+import render.RenderSnapshot;
 
 
 /// State displaying score and health.
@@ -12,6 +13,10 @@ public class StatusState extends SceneState {
     /// Text showing score and health.
     private final TextObject mStatus;
 
+    /// Score and health currently shown, so the text is only rebuilt when they change.
+    private int mShownScore;
+    private int mShownHealth;
+
     /// Initialise status text.
     public StatusState(Context context) {
 
@@ -19,6 +24,8 @@ public class StatusState extends SceneState {
         int textSize = 25;
         boolean centred = false;
         mStatus = new TextObject(textSize, centred);
+        mShownScore = -1;
+        mShownHealth = -1;
         updateStatus();
 
     }
@@ -33,19 +40,26 @@ public class StatusState extends SceneState {
 
     }
 
-    /// Render the game and the status.
-    /// \param core processing core to render game with.
-    public void render(PApplet core) {
+    /// Capture the game and the status.
+    /// \param snapshot the snapshot to add the scene to.
+    public void capture(RenderSnapshot snapshot) {
 
-        super.render(core);
-        mStatus.render(core);
+        super.capture(snapshot);
+        mStatus.capture(snapshot, RenderSnapshot.NO_NODE);
 
     }
 
     /// Update the status with the current score and health.
     private void updateStatus() {
 
-        mStatus.setText("Score: " + mContext.score + "\nHealth: " + mContext.ship.getHealth());
+        int health = mContext.ship.getHealth();
+        if (mContext.score != mShownScore || health != mShownHealth) {
+
+            mShownScore = mContext.score;
+            mShownHealth = health;
+            mStatus.setText("Score: " + mShownScore + "\nHealth: " + mShownHealth);
+
+        }
 
     }
 
@@ -4,6 +4,8 @@ import processing.core.PApplet;
 import processing.core.PImage;
 import java.lang.RuntimeException;
 import java.io.IOException;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
 import java.util.ArrayList;
 import java.lang.String;
 import rect.Rect;
@@ -11,7 +13,13 @@ import rect.Rect;
 /// Class encapsulating an image with clips to render different areas of the image.
 public class Texture {
 
-    /// Image to use for rendering.
+    /// Signature at the start of every PNG file.
+    private static final long PNG_SIGNATURE = 0x89504E470D0A1A0AL;
+
+    /// Type of the PNG header chunk holding the image size ("IHDR").
+    private static final int PNG_HEADER = 0x49484452;
+
+    /// Image to use for rendering (null if only the size was loaded).
     private final PImage mImage;
 
     /// Clips that can be used to render different areas of the image.
@@ -36,6 +44,42 @@ public class Texture {
 
     }
 
+    /// Initialise with only the size of a PNG image, read from its header
+    /// without loading any pixels. The texture has clips and sizes like a
+    /// loaded one but cannot be rendered, so the game can run without a
+    /// display.
+    /// \param path PNG file path.
+    public Texture(String path) throws IOException {
+
+        mImage = null;
+        float width;
+        float height;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(path))) {
+
+            // The header is always the first chunk, after the signature and
+            // chunk length.
+            if (in.readLong() != PNG_SIGNATURE) {
+
+                throw new IOException(path + " is not a PNG file");
+
+            }
+            in.readInt();
+            if (in.readInt() != PNG_HEADER) {
+
+                throw new IOException("Could not read PNG header from " + path);
+
+            }
+            width = in.readInt();
+            height = in.readInt();
+
+        }
+        mClips = new ArrayList<Rect>();
+
+        // Add default clip for entire image.
+        mClips.add(new Rect(0f, 0f, width, height));
+
+    }
+
     /// Get the number of clips stored by the texture.
     /// \return the number of clips the texture has.
     public int getClipCount() {
@@ -82,6 +126,8 @@ public class Texture {
     /// \param core Processing core to use to render the image.
     /// \param clipIndex the index of the clip to crop the image with.
     public void render(PApplet core, int clipIndex) {
+
+        assert mImage != null : "Texture was loaded without its image";
         
         // clip image then render, this includes translating so that clip is centred
         // at current transformation.
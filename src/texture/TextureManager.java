@@ -4,10 +4,29 @@ import java.lang.RuntimeException;
 import java.lang.IllegalArgumentException;
 import java.util.HashMap;
 import java.lang.String;
+import java.io.File;
+import java.io.IOException;
+import processing.core.PApplet;
+import rect.Rect;
+import config.Config;
 
 /// Texture container that gives shared access to a store of textures.
 public class TextureManager {
 
+    /// Keys of the textures used by the game, which are also the names of
+    /// their image files.
+    private static final String[] GAME_TEXTURES = {
+        Config.SHIP_TEXTURE_ID,
+        Config.TURRET_TEXTURE_ID,
+        Config.LASER_TEXTURE_ID,
+        Config.POWERUP_TEXTURE_ID,
+        Config.ASTEROID_TEXTURE_ID,
+        Config.RANDOM_TEXTURE_ID,
+        Config.CHASER_TEXTURE_ID,
+        Config.FLOCKER_TEXTURE_ID,
+        Config.GHOST_TEXTURE_ID
+    };
+
     /// Map of string container to texture.
     private HashMap<String, Texture> mTextures;
 
@@ -18,6 +37,37 @@ public class TextureManager {
 
     }
 
+    /// Load every texture used by the game.
+    /// \param core Processing core to use for loading images.
+    /// \return a manager containing the game's textures.
+    public static TextureManager loadGameTextures(PApplet core) throws IOException {
+
+        TextureManager manager = new TextureManager();
+        for (String key : GAME_TEXTURES) {
+
+            manager.addGameTexture(key, new Texture(core, key + ".png"));
+
+        }
+        return manager;
+
+    }
+
+    /// Load the size of every texture used by the game without loading their
+    /// images, for running the game without a display.
+    /// \param directory the directory containing the image files.
+    /// \return a manager containing the game's textures.
+    public static TextureManager loadGameTextureSizes(String directory) throws IOException {
+
+        TextureManager manager = new TextureManager();
+        for (String key : GAME_TEXTURES) {
+
+            manager.addGameTexture(key, new Texture(new File(directory, key + ".png").getPath()));
+
+        }
+        return manager;
+
+    }
+
     /// Add a new texture to the store using the specified key.
     /// \param key identifying key for the stored texture.
     /// \param texture the texture to store.
@@ -55,4 +105,38 @@ public class TextureManager {
 
     }
 
+    /// Add the clips a game texture is split into then store it.
+    /// \param key identifying key of the game texture.
+    /// \param texture the texture to store.
+    private void addGameTexture(String key, Texture texture) {
+
+        if (key.equals(Config.LASER_TEXTURE_ID)) {
+
+            addClips(texture, 0, 3, 12, 50);
+
+        } else if (key.equals(Config.POWERUP_TEXTURE_ID)) {
+
+            addClips(texture, 0, 4, 45, 45);
+
+        }
+        addTexture(key, texture);
+
+    }
+
+    /// Add contiguous clips of a set size to a texture starting at specified index.
+    /// \param texture the texture to add clips to.
+    /// \param startIndex the index to start adding clips at.
+    /// \param clips the number of clips to add.
+    /// \param width the width of each clip to add.
+    /// \param height the height of each clip to add.
+    private static void addClips(Texture texture, int startIndex, int clips, int width, int height) {
+
+        for (int i = startIndex; i < clips; ++i) {
+
+            texture.addClip(new Rect(i * width, 0, width, height));
+
+        }
+
+    }
+
 }
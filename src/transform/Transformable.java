@@ -1,67 +1,147 @@
 package transform;
 
 import processing.core.PVector;
-import processing.core.PApplet;
+import math.FastMath;
+import render.RenderSnapshot;
 
 /// Object that can be transformed (rotates, scaled and translated).
+/// Setters change the object's local transformation while getters return
+/// its world transformation, which combines the local transformation with
+/// that of an optional parent. The world transformation of a child is cached
+/// and only recomputed after the child or its parent has changed, and the
+/// sine and cosine of the rotation are only recomputed when it changes.
+/// Subclasses may keep the local translation and rotation elsewhere by
+/// overriding the local accessors. The local translation and rotation can
+/// also be saved at the start of each simulation tick and captured with the
+/// current ones in a render snapshot, so rendering can interpolate between
+/// the previous tick and the current one.
 public class Transformable {
 
-    /// Rotation of object in degrees.
+    /// Local rotation of object in degrees (kept from 0 to 360).
     private float mRotation;
 
     /// Translation of object from origin.
-    private PVector mOrigin;
-
-    /// Translation of object.
-    private PVector mTranslation;
-
-    /// Scale of object.
-    private PVector mScale;
+    private final Vec2 mOrigin;
+
+    /// Local translation of object.
+    private final Vec2 mTranslation;
+
+    /// Local scale of object.
+    private final Vec2 mScale;
+
+    /// Object this object is transformed relative to (null if none).
+    private Transformable mParent;
+
+    /// Whether the local transformation has changed since the world
+    /// transformation was last computed.
+    private boolean mDirty;
+
+    /// Parent transformation the cached world transformation was computed from.
+    private float mParentX;
+    private float mParentY;
+    private float mParentRotation;
+    private float mParentXScale;
+    private float mParentYScale;
+
+    /// Cached world transformation (only used when there is a parent).
+    private float mWorldX;
+    private float mWorldY;
+    private float mWorldRotation;
+    private float mWorldXScale;
+    private float mWorldYScale;
+
+    /// Rotation in degrees that the cached radians, sine and cosine are for.
+    private float mTrigRotation;
+    private float mRadians;
+    private float mSin;
+    private float mCos;
+
+    /// Local translation and rotation saved at the start of the current tick.
+    private boolean mHasPrevious;
+    private float mPreviousX;
+    private float mPreviousY;
+    private float mPreviousRotation;
 
     /// Initialise transformation properties.
     public Transformable() {
 
         mRotation = 0f;
-        mOrigin = new PVector(0f, 0f);
-        mTranslation = new PVector(0f, 0f);
-        mScale = new PVector(1f, 1f);
+        mOrigin = new Vec2(0f, 0f);
+        mTranslation = new Vec2(0f, 0f);
+        mScale = new Vec2(1f, 1f);
+
+        mParent = null;
+        mDirty = true;
+
+        mTrigRotation = 0f;
+        mRadians = 0f;
+        mSin = 0f;
+        mCos = 1f;
+
+        mHasPrevious = false;
 
     }
 
-    /// Apply the objects current transformation to the world.
-    /// \param core Processing core to use to carry out the transformation.
-    public void applyTransform(PApplet core) {
+    /// Add the object's transformation, and those of its parents, to a render
+    /// snapshot with both the saved and current local transformations.
+    /// \param snapshot the snapshot to add the transformation to.
+    /// \param root index of the node to transform objects without a parent
+    /// relative to, or RenderSnapshot.NO_NODE.
+    /// \return the index of the object's node in the snapshot.
+    public int captureTransform(RenderSnapshot snapshot, int root) {
+
+        int parent = mParent == null ? root : mParent.captureTransform(snapshot, root);
+        return snapshot.addNode(parent,
+                                getPreviousXTranslation(),
+                                getPreviousYTranslation(),
+                                getPreviousRotation(),
+                                getLocalXTranslation(),
+                                getLocalYTranslation(),
+                                getLocalRotation(),
+                                mScale.x, mScale.y,
+                                mOrigin.x, mOrigin.y);
+
+    }
 
-        // Use get methods, allowing children to overload them for custom transformations.
-        PVector translation = getTranslation();
-        float rotation = getRadianRotation();
-        PVector scale = getScale();
-        PVector origin = getOrigin();
+    /// Save the current local translation and rotation as the previous ones
+    /// to interpolate from. Called at the start of each simulation tick.
+    public void savePrevious() {
 
-        // Scale, rotate, then translate to match object's current translation.
-        core.translate(translation.x, translation.y);
-        core.rotate(rotation);
-        core.scale(scale.x, scale.y);
-        core.translate(-origin.x, -origin.y);
+        mHasPrevious = true;
+        mPreviousX = getLocalXTranslation();
+        mPreviousY = getLocalYTranslation();
+        mPreviousRotation = getLocalRotation();
 
     }
 
-    /// Get the object's current rotation in degrees.
-    /// \return the object's current rotation.
-    public float getRotation() {
+    /// Set the object to transform this object relative to.
+    /// \param parent the new parent or null to detach the object.
+    public void setParent(Transformable parent) {
+
+        mParent = parent;
+        mDirty = true;
 
-        // Ensure rotation is from 0 to 360 when fetched.
-        while (mRotation >= 360f) {
+    }
 
-            mRotation -= 360f;
+    /// Get the object this object is transformed relative to.
+    /// \return the object's parent or null if it has none.
+    public Transformable getParent() {
 
-        }
-        while (mRotation < 0f) {
+        return mParent;
+
+    }
+
+    /// Get the object's current rotation in degrees.
+    /// \return the object's current rotation (from 0 to 360).
+    public float getRotation() {
+
+        if (mParent == null) {
 
-            mRotation += 360f;
+            return getLocalRotation();
 
         }
-        return mRotation;
+        refresh();
+        return mWorldRotation;
 
     }
 
@@ -70,7 +150,26 @@ public class Transformable {
     /// \return object's current rotation in radians.
     public float getRadianRotation() {
 
-        return getRotation() * ((float)Math.PI / 180f);
+        refreshTrig();
+        return mRadians;
+
+    }
+
+    /// Get the sine of the object's current rotation.
+    /// \return the sine of the object's current rotation.
+    public float getRotationSin() {
+
+        refreshTrig();
+        return mSin;
+
+    }
+
+    /// Get the cosine of the object's current rotation.
+    /// \return the cosine of the object's current rotation.
+    public float getRotationCos() {
+
+        refreshTrig();
+        return mCos;
 
     }
 
@@ -78,7 +177,16 @@ public class Transformable {
     /// \return the object's current origin.
     public PVector getOrigin() {
 
-        return mOrigin.copy(); 
+        return new PVector(mOrigin.x, mOrigin.y);
+
+    }
+
+    /// Get the object's current origin without allocating.
+    /// \param out vector to store the origin in.
+    /// \return out, containing the object's current origin.
+    public Vec2 getOrigin(Vec2 out) {
+
+        return out.set(mOrigin);
 
     }
 
@@ -86,7 +194,7 @@ public class Transformable {
     /// \return the origin translation of the object on the x axis.
     public float getXOrigin() {
 
-        return mOrigin.x; 
+        return mOrigin.x;
 
     }
 
@@ -102,7 +210,16 @@ public class Transformable {
     /// \return the object's current translation.
     public PVector getTranslation() {
 
-        return mTranslation.copy(); 
+        return new PVector(getXTranslation(), getYTranslation());
+
+    }
+
+    /// Get the object's current translation without allocating.
+    /// \param out vector to store the translation in.
+    /// \return out, containing the object's current translation.
+    public Vec2 getTranslation(Vec2 out) {
+
+        return out.set(getXTranslation(), getYTranslation());
 
     }
 
@@ -110,7 +227,13 @@ public class Transformable {
     /// \return the translation of the object on the x axis.
     public float getXTranslation() {
 
-        return mTranslation.x; 
+        if (mParent == null) {
+
+            return getLocalXTranslation();
+
+        }
+        refresh();
+        return mWorldX;
 
     }
 
@@ -118,7 +241,13 @@ public class Transformable {
     /// \return the translation of the object on the y axis.
     public float getYTranslation() {
 
-        return mTranslation.y;
+        if (mParent == null) {
+
+            return getLocalYTranslation();
+
+        }
+        refresh();
+        return mWorldY;
 
     }
 
@@ -126,7 +255,16 @@ public class Transformable {
     /// \return the current scale of the object.
     public PVector getScale() {
 
-        return mScale.copy();
+        return new PVector(getXScale(), getYScale());
+
+    }
+
+    /// Get the current scale of the object without allocating.
+    /// \param out vector to store the scale in.
+    /// \return out, containing the current scale of the object.
+    public Vec2 getScale(Vec2 out) {
+
+        return out.set(getXScale(), getYScale());
 
     }
 
@@ -134,7 +272,13 @@ public class Transformable {
     /// \return the current scale of the object on the x axis.
     public float getXScale() {
 
-        return mScale.x;
+        if (mParent == null) {
+
+            return mScale.x;
+
+        }
+        refresh();
+        return mWorldXScale;
 
     }
 
@@ -142,7 +286,13 @@ public class Transformable {
     /// \return the current scale of the object on the y axis.
     public float getYScale() {
 
-        return mScale.y;
+        if (mParent == null) {
+
+            return mScale.y;
+
+        }
+        refresh();
+        return mWorldYScale;
 
     }
 
@@ -150,7 +300,7 @@ public class Transformable {
     /// \param angle the angle in degrees to modify the object's rotation with.
     public void rotate(float angle) {
 
-        mRotation += angle;
+        setRotation(getLocalRotation() + angle);
 
     }
 
@@ -158,7 +308,8 @@ public class Transformable {
     /// \param angle the angle in degrees to set the object's rotation to.
     public void setRotation(float angle) {
 
-        mRotation = angle;
+        setLocalRotation(normalise(angle));
+        mDirty = true;
 
     }
 
@@ -166,7 +317,7 @@ public class Transformable {
     /// \param translation point to set the object's origin to.
     public void setOrigin(PVector origin) {
 
-        mOrigin.set(origin);
+        mOrigin.set(origin.x, origin.y);
 
     }
 
@@ -183,7 +334,7 @@ public class Transformable {
     /// \param move vector to translate the object with.
     public void translate(PVector move) {
 
-        mTranslation.add(move); 
+        translate(move.x, move.y);
 
     }
 
@@ -192,7 +343,23 @@ public class Transformable {
     /// \param y y component of translation.
     public void translate(float x, float y) {
 
-        mTranslation.add(x, y); 
+        setTranslation(getLocalXTranslation() + x, getLocalYTranslation() + y);
+
+    }
+
+    /// Translate the object.
+    /// \param move vector to translate the object with.
+    public void translate(Vec2 move) {
+
+        translate(move.x, move.y);
+
+    }
+
+    /// Set the object's translation.
+    /// \param translation point to set the object's translation to.
+    public void setTranslation(Vec2 translation) {
+
+        setTranslation(translation.x, translation.y);
 
     }
 
@@ -200,7 +367,7 @@ public class Transformable {
     /// \param translation point to set the object's translation to.
     public void setTranslation(PVector translation) {
 
-        mTranslation.set(translation);
+        setTranslation(translation.x, translation.y);
 
     }
 
@@ -209,7 +376,8 @@ public class Transformable {
     /// \param y y component of object's new translation.
     public void setTranslation(float x, float y) {
 
-        mTranslation.set(x, y);
+        setLocalTranslation(x, y);
+        mDirty = true;
 
     }
 
@@ -217,8 +385,7 @@ public class Transformable {
     /// \param scaling vector containing x and y components to scale object with.
     public void scale(PVector scaling) {
 
-        mScale.x *= scaling.x; 
-        mScale.y *= scaling.y; 
+        scale(scaling.x, scaling.y);
 
     }
 
@@ -227,8 +394,7 @@ public class Transformable {
     /// \param y the scaling on the y axis.
     public void scale(float x, float y) {
 
-        mScale.x *= x; 
-        mScale.y *= y; 
+        setScale(mScale.x * x, mScale.y * y);
 
     }
 
@@ -236,7 +402,7 @@ public class Transformable {
     /// \param scale the new scale to set the object to use.
     public void setScale(PVector scale) {
 
-        mScale.set(scale);
+        setScale(scale.x, scale.y);
 
     }
 
@@ -246,6 +412,152 @@ public class Transformable {
     public void setScale(float x, float y) {
 
         mScale.set(x, y);
+        mDirty = true;
+        onScaleChanged();
+
+    }
+
+    /// Called whenever the object's own scale changes, allowing subclasses to
+    /// update values derived from it.
+    protected void onScaleChanged() {}
+
+    /// Get the local translation on the x axis at the start of the tick.
+    protected float getPreviousXTranslation() {
+
+        return mHasPrevious ? mPreviousX : getLocalXTranslation();
+
+    }
+
+    /// Get the local translation on the y axis at the start of the tick.
+    protected float getPreviousYTranslation() {
+
+        return mHasPrevious ? mPreviousY : getLocalYTranslation();
+
+    }
+
+    /// Get the local rotation at the start of the tick.
+    protected float getPreviousRotation() {
+
+        return mHasPrevious ? mPreviousRotation : getLocalRotation();
+
+    }
+
+    /// Get the local translation on the x axis.
+    protected float getLocalXTranslation() {
+
+        return mTranslation.x;
+
+    }
+
+    /// Get the local translation on the y axis.
+    protected float getLocalYTranslation() {
+
+        return mTranslation.y;
+
+    }
+
+    /// Store the local translation.
+    /// \param x x component of the local translation.
+    /// \param y y component of the local translation.
+    protected void setLocalTranslation(float x, float y) {
+
+        mTranslation.set(x, y);
+
+    }
+
+    /// Get the local rotation in degrees.
+    protected float getLocalRotation() {
+
+        return mRotation;
+
+    }
+
+    /// Store the local rotation.
+    /// \param angle the local rotation in degrees (from 0 to 360).
+    protected void setLocalRotation(float angle) {
+
+        mRotation = angle;
+
+    }
+
+    /// Recompute the cached world transformation of a child if it or its
+    /// parent has changed since it was last computed.
+    private void refresh() {
+
+        float parentX = mParent.getXTranslation();
+        float parentY = mParent.getYTranslation();
+        float parentRotation = mParent.getRotation();
+        float parentXScale = mParent.getXScale();
+        float parentYScale = mParent.getYScale();
+        if (!mDirty &&
+            parentX == mParentX &&
+            parentY == mParentY &&
+            parentRotation == mParentRotation &&
+            parentXScale == mParentXScale &&
+            parentYScale == mParentYScale) {
+
+            return;
+
+        }
+        mDirty = false;
+        mParentX = parentX;
+        mParentY = parentY;
+        mParentRotation = parentRotation;
+        mParentXScale = parentXScale;
+        mParentYScale = parentYScale;
+
+        // Scale and rotate the local translation by the parent's before
+        // offsetting by the parent's translation.
+        float sin = mParent.getRotationSin();
+        float cos = mParent.getRotationCos();
+        float x = getLocalXTranslation() * parentXScale;
+        float y = getLocalYTranslation() * parentYScale;
+        mWorldX = x * cos - y * sin + parentX;
+        mWorldY = x * sin + y * cos + parentY;
+        mWorldXScale = mScale.x * parentXScale;
+        mWorldYScale = mScale.y * parentYScale;
+        mWorldRotation = normalise(parentRotation + getLocalRotation());
+
+    }
+
+    /// Recompute the cached radians, sine and cosine if the rotation has
+    /// changed since they were last computed.
+    private void refreshTrig() {
+
+        float rotation = getRotation();
+        if (rotation != mTrigRotation) {
+
+            mTrigRotation = rotation;
+            mRadians = rotation * FastMath.DEGREES_TO_RADIANS;
+            mSin = FastMath.sin(mRadians);
+            mCos = FastMath.cos(mRadians);
+
+        }
+
+    }
+
+    /// Wrap an angle into the range 0 to 360.
+    /// \param angle the angle in degrees to wrap.
+    /// \return the equivalent angle from 0 to 360.
+    private static float normalise(float angle) {
+
+        if (angle >= 360f || angle < 0f) {
+
+            angle %= 360f;
+            if (angle < 0f) {
+
+                angle += 360f;
+
+            }
+            // Guard against rounding up to 360 for tiny negative angles.
+            if (angle >= 360f) {
+
+                angle = 0f;
+
+            }
+
+        }
+        return angle;
 
     }
 
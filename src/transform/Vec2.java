@@ -0,0 +1,152 @@
+package transform;
+
+/// Mutable 2D vector owned by the engine. Operations modify the vector in
+/// place and return it so per-tick maths can run without allocating.
+public class Vec2 {
+
+    /// x component.
+    public float x;
+
+    /// y component.
+    public float y;
+
+    /// Initialise zero vector.
+    public Vec2() {
+
+        x = 0f;
+        y = 0f;
+
+    }
+
+    /// Initialise vector with components.
+    /// \param x x component.
+    /// \param y y component.
+    public Vec2(float x, float y) {
+
+        this.x = x;
+        this.y = y;
+
+    }
+
+    /// Set the components of the vector.
+    /// \param x new x component.
+    /// \param y new y component.
+    /// \return this vector.
+    public Vec2 set(float x, float y) {
+
+        this.x = x;
+        this.y = y;
+        return this;
+
+    }
+
+    /// Copy the components of another vector.
+    /// \param other vector to copy.
+    /// \return this vector.
+    public Vec2 set(Vec2 other) {
+
+        x = other.x;
+        y = other.y;
+        return this;
+
+    }
+
+    /// Add components to the vector.
+    /// \param x x component to add.
+    /// \param y y component to add.
+    /// \return this vector.
+    public Vec2 add(float x, float y) {
+
+        this.x += x;
+        this.y += y;
+        return this;
+
+    }
+
+    /// Add a scaled vector to this vector.
+    /// \param other vector to add.
+    /// \param scale amount to scale other by before adding.
+    /// \return this vector.
+    public Vec2 addScaled(Vec2 other, float scale) {
+
+        x += other.x * scale;
+        y += other.y * scale;
+        return this;
+
+    }
+
+    /// Multiply the vector by a scalar.
+    /// \param scale the scalar to multiply by.
+    /// \return this vector.
+    public Vec2 mult(float scale) {
+
+        x *= scale;
+        y *= scale;
+        return this;
+
+    }
+
+    /// Get the squared magnitude of the vector.
+    public float magSq() {
+
+        return x * x + y * y;
+
+    }
+
+    /// Get the magnitude of the vector.
+    public float mag() {
+
+        return (float)Math.sqrt(x * x + y * y);
+
+    }
+
+    /// Scale the vector to unit length (zero vectors are left unchanged).
+    /// \return this vector.
+    public Vec2 normalize() {
+
+        float mag = mag();
+        if (mag != 0f) {
+
+            x /= mag;
+            y /= mag;
+
+        }
+        return this;
+
+    }
+
+    /// Limit the magnitude of the vector.
+    /// \param max the maximum magnitude.
+    /// \return this vector.
+    public Vec2 limit(float max) {
+
+        float magSq = magSq();
+        if (magSq > max * max) {
+
+            mult(max / (float)Math.sqrt(magSq));
+
+        }
+        return this;
+
+    }
+
+    /// Rotate the vector by precomputed sine and cosine of an angle.
+    /// \param sin sine of the angle to rotate by.
+    /// \param cos cosine of the angle to rotate by.
+    /// \return this vector.
+    public Vec2 rotate(float sin, float cos) {
+
+        float rx = x * cos - y * sin;
+        y = x * sin + y * cos;
+        x = rx;
+        return this;
+
+    }
+
+    public String toString() {
+
+        return "x: " + x + " y: " + y;
+
+    }
+
+}